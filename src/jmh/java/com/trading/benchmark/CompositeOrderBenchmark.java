@@ -0,0 +1,76 @@
+package com.trading.benchmark;
+
+import com.trading.dto.CompositeInstrumentRequest;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code CompositeOrderService.createCompositeOrder} with {@code legs} instruments spread over
+ * {@code shards} matching shards. Each invocation places a buying and a selling composite whose
+ * legs cross one another, so the books stay empty across invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompositeOrderBenchmark {
+
+  private static final BigDecimal PRICE = new BigDecimal("100.00");
+
+  @Param({"1", "4", "16"})
+  public int legs;
+
+  @Param({"1", "4"})
+  public int shards;
+
+  private EngineFixture fixture;
+  private List<CompositeInstrumentRequest> buyLegs;
+  private List<CompositeInstrumentRequest> sellLegs;
+
+  @Setup(Level.Trial)
+  public void startEngine() {
+    fixture = new EngineFixture(shards);
+    buyLegs = legs(OrderDirection.BUY);
+    sellLegs = legs(OrderDirection.SELL);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public UUID createCompositeOrder() {
+    fixture.compositeOrderService.createCompositeOrder(buyLegs, "BUYER");
+    return fixture.compositeOrderService.createCompositeOrder(sellLegs, "SELLER");
+  }
+
+  @TearDown(Level.Trial)
+  public void stopEngine() {
+    fixture.close();
+  }
+
+  private List<CompositeInstrumentRequest> legs(OrderDirection direction) {
+    return IntStream.range(0, legs)
+        .mapToObj(
+            i -> new CompositeInstrumentRequest("LEG" + i, 10, direction, OrderType.LIMIT, PRICE))
+        .toList();
+  }
+}
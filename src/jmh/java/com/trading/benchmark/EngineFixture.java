@@ -0,0 +1,234 @@
+package com.trading.benchmark;
+
+import com.trading.cluster.InstrumentOwnership;
+import com.trading.cluster.OrderForwarder;
+import com.trading.config.ClusterProperties;
+import com.trading.config.ExpiryProperties;
+import com.trading.config.JournalProperties;
+import com.trading.config.PersistenceProperties;
+import com.trading.config.RecordingProperties;
+import com.trading.config.RiskProperties;
+import com.trading.engine.EngineEventListener;
+import com.trading.engine.MatchingEngine;
+import com.trading.engine.MatchingShard;
+import com.trading.engine.OrderBook;
+import com.trading.engine.PriceScale;
+import com.trading.entity.CompositeOrder;
+import com.trading.entity.InstrumentEntity;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.journal.JournalService;
+import com.trading.metrics.EngineMetrics;
+import com.trading.persistence.WriteBehindPersister;
+import com.trading.replay.FlowRecorder;
+import com.trading.repository.CompositeOrderRepository;
+import com.trading.repository.InstrumentRepository;
+import com.trading.repository.OrderRepository;
+import com.trading.repository.TradeRepository;
+import com.trading.risk.ExposureTracker;
+import com.trading.risk.NotionalCheck;
+import com.trading.risk.OpenOrdersCheck;
+import com.trading.risk.OrderQuantityCheck;
+import com.trading.risk.PositionLimitCheck;
+import com.trading.risk.PreTradeRisk;
+import com.trading.risk.PriceBandCheck;
+import com.trading.service.CompositeOrderService;
+import com.trading.service.InstrumentCache;
+import com.trading.service.OrderBookService;
+import com.trading.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Services wired by hand around a real {@link MatchingEngine}, without Spring or a database.
+ * Repositories are in-memory stand-ins serving instruments and composite orders, and events go to
+ * a counting listener instead of the journal and the write-behind persister, so the benchmarks
+ * measure sequencing, matching, event creation and metric recording only.
+ */
+final class EngineFixture implements AutoCloseable {
+
+  static final PriceScale PRICE_SCALE = PriceScale.ofTickSize(new BigDecimal("0.01"));
+
+  final MatchingEngine engine;
+  final OrderBookService orderBookService;
+  final OrderService orderService;
+  final CompositeOrderService compositeOrderService;
+  final LongAdder events = new LongAdder();
+
+  private final Map<String, InstrumentEntity> instruments = new ConcurrentHashMap<>();
+
+  EngineFixture(int shards) {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    EngineMetrics metrics = new EngineMetrics(registry);
+    engine = new MatchingEngine(shards, 65536, symbol -> PRICE_SCALE, metrics::bookCreated);
+    PersistenceProperties persistenceProperties =
+        new PersistenceProperties(65536, 500, Duration.ofMillis(5), false, Duration.ofSeconds(5));
+    JournalProperties journalProperties =
+        new JournalProperties(
+            false, "data/journal", DataSize.ofMegabytes(64), Duration.ofMillis(10), false);
+    // Never started nor subscribed; only there to satisfy the constructors
+    WriteBehindPersister persister =
+        new WriteBehindPersister(
+            new JdbcTemplate(), new TransactionTemplate(), null, persistenceProperties, registry);
+    EngineEventListener counter = event -> events.increment();
+    // Every built-in pre-trade check runs, with its limit disabled
+    RiskProperties riskProperties =
+        new RiskProperties(0, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0);
+    ExposureTracker exposures = new ExposureTracker();
+    PreTradeRisk risk =
+        new PreTradeRisk(
+            List.of(
+                new OrderQuantityCheck(riskProperties),
+                new NotionalCheck(riskProperties),
+                new OpenOrdersCheck(riskProperties),
+                new PriceBandCheck(riskProperties),
+                new PositionLimitCheck(riskProperties)),
+            exposures,
+            metrics);
+    // Single node owning every instrument, so nothing is forwarded
+    ClusterProperties clusterProperties =
+        new ClusterProperties("local", List.of(), 128, Duration.ofSeconds(5));
+    InstrumentOwnership ownership = new InstrumentOwnership(clusterProperties);
+    OrderForwarder forwarder =
+        new OrderForwarder(ownership, clusterProperties, RestClient.builder());
+
+    OrderRepository orderRepository = repository(OrderRepository.class, null);
+    orderBookService =
+        new OrderBookService(
+            orderRepository,
+            new InstrumentCache(repository(InstrumentRepository.class, this::instrument)),
+            engine,
+            persister,
+            new JournalService(journalProperties, persister),
+            List.of(counter, exposures),
+            persistenceProperties,
+            journalProperties,
+            metrics,
+            ownership,
+            new ExpiryProperties(Duration.ofSeconds(1), LocalTime.MIDNIGHT, ZoneOffset.UTC),
+            risk,
+            exposures,
+            repository(TradeRepository.class, null),
+            new FlowRecorder(new RecordingProperties(false, "data/flow.rec", 65536)));
+    orderService =
+        new OrderService(
+            orderRepository,
+            orderBookService,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            ownership,
+            forwarder);
+    compositeOrderService =
+        new CompositeOrderService(
+            repository(CompositeOrderRepository.class, EngineFixture::saveComposite),
+            orderBookService,
+            ownership,
+            forwarder,
+            persister);
+  }
+
+  /** Replaces the book of the symbol with the given resting orders, bypassing event publication. */
+  void load(String symbol, List<OrderEntity> restingOrders) {
+    MatchingShard shard = engine.shardFor(symbol);
+    shard
+        .submit(
+            () -> {
+              OrderBook book = shard.resetBook(symbol);
+              restingOrders.forEach(book::add);
+              return book;
+            })
+        .join();
+  }
+
+  static OrderEntity order(
+      String symbol, OrderDirection direction, BigDecimal price, int quantity) {
+    return OrderEntity.builder()
+        .traderId("BENCH")
+        .instrument(InstrumentEntity.builder().symbol(symbol).build())
+        .direction(direction)
+        .type(price == null ? OrderType.MARKET : OrderType.LIMIT)
+        .price(price)
+        .quantity(quantity)
+        .createdAt(Instant.now())
+        .build();
+  }
+
+  /** Order already accepted by the engine, ready to be rested with {@link #load}. */
+  static OrderEntity resting(
+      String symbol, OrderDirection direction, BigDecimal price, int quantity) {
+    OrderEntity order = order(symbol, direction, price, quantity);
+    order.setId(UUID.randomUUID());
+    order.setRemainingQuantity(quantity);
+    order.setStatus(OrderStatus.OPEN);
+    return order;
+  }
+
+  @Override
+  public void close() {
+    engine.close();
+  }
+
+  private Object instrument(String method, Object[] args) {
+    return switch (method) {
+      case "findBySymbol" ->
+          Optional.of(
+              instruments.computeIfAbsent(
+                  (String) args[0],
+                  symbol ->
+                      InstrumentEntity.builder().id(UUID.randomUUID()).symbol(symbol).build()));
+      case "save" -> args[0];
+      default -> throw new UnsupportedOperationException(method);
+    };
+  }
+
+  private static Object saveComposite(String method, Object[] args) {
+    if (!method.equals("save")) {
+      throw new UnsupportedOperationException(method);
+    }
+    CompositeOrder composite = (CompositeOrder) args[0];
+    composite.setCompositeId(UUID.randomUUID());
+    return composite;
+  }
+
+  private static <T> T repository(Class<T> type, RepositoryMethod implementation) {
+    InvocationHandler handler =
+        (proxy, method, args) -> {
+          if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+              case "equals" -> proxy == args[0];
+              case "hashCode" -> System.identityHashCode(proxy);
+              default -> type.getSimpleName();
+            };
+          }
+          if (implementation == null) {
+            throw new UnsupportedOperationException(method.getName());
+          }
+          return implementation.invoke(method.getName(), args);
+        };
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  @FunctionalInterface
+  private interface RepositoryMethod {
+    Object invoke(String method, Object[] args);
+  }
+}
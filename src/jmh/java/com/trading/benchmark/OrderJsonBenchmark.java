@@ -0,0 +1,103 @@
+package com.trading.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.trading.dto.OrderRequest;
+import com.trading.dto.OrderResponse;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import com.trading.mapper.OrderJson;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading an {@link OrderRequest} and writing an {@link OrderResponse}, as the REST layer does for
+ * every order, with Jackson's reflective record support or with the serializers of {@link
+ * OrderJson}. Both mappers are configured like Spring Boot's; compare {@code gc.alloc.rate.norm}
+ * between the two {@code mapping} values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+  private static final byte[] REQUEST =
+      """
+      {"traderId":"TRADER1","instrumentSymbol":"AAPL","direction":"BUY","type":"LIMIT",\
+      "quantity":100,"price":150.00}"""
+          .getBytes(StandardCharsets.UTF_8);
+
+  @Param({"reflective", "handWritten"})
+  public String mapping;
+
+  private final OrderResponse response =
+      new OrderResponse(
+          UUID.randomUUID(),
+          "TRADER1",
+          "AAPL",
+          OrderDirection.BUY,
+          OrderType.LIMIT,
+          40,
+          new BigDecimal("150.00"),
+          OrderStatus.PARTIALLY_FILLED,
+          Instant.now(),
+          null,
+          TimeInForce.GOOD_TILL_CANCELLED,
+          null);
+
+  private ObjectReader reader;
+  private ObjectWriter writer;
+
+  @Setup
+  public void createMapper() {
+    JsonMapper.Builder builder =
+        JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    if (mapping.equals("handWritten")) {
+      builder.addModule(
+          new SimpleModule()
+              .addSerializer(OrderResponse.class, new OrderJson.ResponseSerializer())
+              .addDeserializer(OrderRequest.class, new OrderJson.RequestDeserializer()));
+    }
+    JsonMapper mapper = builder.build();
+    reader = mapper.readerFor(OrderRequest.class);
+    writer = mapper.writerFor(OrderResponse.class);
+  }
+
+  @Benchmark
+  public OrderRequest readRequest() throws IOException {
+    return reader.readValue(REQUEST);
+  }
+
+  @Benchmark
+  public byte[] writeResponse() throws IOException {
+    return writer.writeValueAsBytes(response);
+  }
+}
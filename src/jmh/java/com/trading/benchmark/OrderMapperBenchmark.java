@@ -0,0 +1,64 @@
+package com.trading.benchmark;
+
+import com.trading.dto.OrderRequest;
+import com.trading.dto.OrderResponse;
+import com.trading.entity.InstrumentEntity;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.mapper.OrderMapper;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@link OrderMapper} conversions on the REST boundary of every order. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+  private final OrderRequest request =
+      new OrderRequest(
+          "TRADER1", "AAPL", OrderDirection.BUY, OrderType.LIMIT, 100, new BigDecimal("150.00"));
+
+  private final InstrumentEntity instrument =
+      InstrumentEntity.builder().id(UUID.randomUUID()).symbol("AAPL").build();
+
+  private final OrderEntity entity =
+      OrderEntity.builder()
+          .id(UUID.randomUUID())
+          .traderId("TRADER1")
+          .instrument(instrument)
+          .direction(OrderDirection.BUY)
+          .type(OrderType.LIMIT)
+          .price(new BigDecimal("150.00"))
+          .quantity(100)
+          .remainingQuantity(40)
+          .status(OrderStatus.PARTIALLY_FILLED)
+          .createdAt(Instant.now())
+          .build();
+
+  @Benchmark
+  public OrderEntity toEntity() {
+    return OrderMapper.toEntity(request, instrument);
+  }
+
+  @Benchmark
+  public OrderResponse toResponse() {
+    return OrderMapper.toResponse(entity);
+  }
+}
@@ -0,0 +1,128 @@
+package com.trading.benchmark;
+
+import static com.trading.entity.OrderDirection.BUY;
+import static com.trading.entity.OrderDirection.SELL;
+
+import com.trading.entity.OrderEntity;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code OrderBookService.processOrder} against books of different shapes. The book holds {@code
+ * depth} resting asks spread evenly over {@code levels} consecutive ticks above the best ask.
+ *
+ * <ul>
+ *   <li>{@code emptyBook}: a bid rests in the empty book of another instrument and an ask then
+ *       fills it, leaving that book empty again.
+ *   <li>{@code topOfDeepBook}: a one-lot market buy fills against the best level and leaves the
+ *       book unchanged otherwise.
+ *   <li>{@code insertAndCancelInDeepBook}: a bid rests below the asks and is cancelled again.
+ *   <li>{@code fullSweep}: a market buy takes out every resting ask; the book is reloaded before
+ *       each invocation.
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMatchingBenchmark {
+
+  private static final String SYMBOL = "BENCH";
+  private static final String EMPTY_SYMBOL = "EMPTY";
+  private static final BigDecimal BEST_ASK = new BigDecimal("100.00");
+  private static final BigDecimal BID = new BigDecimal("99.00");
+
+  @Param({"0", "1000", "100000"})
+  public int depth;
+
+  @Param({"1", "100"})
+  public int levels;
+
+  private EngineFixture fixture;
+  private List<OrderEntity> asks;
+
+  @Setup(Level.Trial)
+  public void startEngine() {
+    fixture = new EngineFixture(1);
+    asks = new ArrayList<>(depth);
+    for (int i = 0; i < depth; i++) {
+      BigDecimal price = BEST_ASK.add(EngineFixture.PRICE_SCALE.toDecimal(i % levels));
+      // Large enough that one-lot fills never exhaust an order during a trial
+      asks.add(EngineFixture.resting(SYMBOL, SELL, price, Integer.MAX_VALUE / 2));
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void loadBook() {
+    fixture.load(SYMBOL, asks);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public OrderEntity emptyBook() {
+    fixture.orderBookService.processOrder(EngineFixture.order(EMPTY_SYMBOL, BUY, BID, 10));
+    return fixture.orderBookService.processOrder(EngineFixture.order(EMPTY_SYMBOL, SELL, BID, 10));
+  }
+
+  @Benchmark
+  public OrderEntity topOfDeepBook() {
+    return fixture.orderBookService.processOrder(EngineFixture.order(SYMBOL, BUY, null, 1));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public OrderEntity insertAndCancelInDeepBook() {
+    OrderEntity bid =
+        fixture.orderBookService.processOrder(EngineFixture.order(SYMBOL, BUY, BID, 10));
+    return fixture.orderBookService.cancelOrder(bid);
+  }
+
+  @Benchmark
+  public OrderEntity fullSweep(SweepState sweep) {
+    return fixture.orderBookService.processOrder(
+        EngineFixture.order(SYMBOL, BUY, null, Math.max(1, sweep.quantity)));
+  }
+
+  @TearDown(Level.Trial)
+  public void stopEngine() {
+    fixture.close();
+  }
+
+  /**
+   * Reloads the book with one-lot asks before every sweep. Per-invocation setup is only
+   * acceptable here because a sweep of a deep book takes far longer than the setup overhead.
+   */
+  @State(Scope.Thread)
+  public static class SweepState {
+
+    int quantity;
+
+    @Setup(Level.Invocation)
+    public void reload(OrderMatchingBenchmark benchmark) {
+      List<OrderEntity> oneLotAsks = new ArrayList<>(benchmark.depth);
+      for (OrderEntity ask : benchmark.asks) {
+        oneLotAsks.add(EngineFixture.resting(SYMBOL, SELL, ask.getPrice(), 1));
+      }
+      benchmark.fixture.load(SYMBOL, oneLotAsks);
+      quantity = oneLotAsks.size();
+    }
+  }
+}
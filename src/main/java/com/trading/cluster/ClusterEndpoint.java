@@ -0,0 +1,36 @@
+package com.trading.cluster;
+
+import com.trading.config.ClusterProperties.Member;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/cluster} shows the members of the cluster as this node sees them, and {@code
+ * /actuator/cluster/{symbol}} which node owns an instrument.
+ */
+@Component
+@Endpoint(id = "cluster")
+@RequiredArgsConstructor
+public class ClusterEndpoint {
+
+  private final InstrumentOwnership ownership;
+
+  @ReadOperation
+  public Cluster cluster() {
+    return new Cluster(ownership.getNodeId(), ownership.isClustered(), ownership.getMembers());
+  }
+
+  @ReadOperation
+  public Owner owner(@Selector String symbol) {
+    return new Owner(symbol, ownership.ownerId(symbol), ownership.isLocal(symbol));
+  }
+
+  public record Cluster(String nodeId, boolean clustered, Collection<Member> members) {}
+
+  /** @param local whether the node answering owns the instrument */
+  public record Owner(String symbol, String nodeId, boolean local) {}
+}
@@ -0,0 +1,72 @@
+package com.trading.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consistent hash ring over a fixed set of nodes. Each node is placed at {@code virtualNodes}
+ * points of a 64-bit ring, and a key belongs to the node of the first point at or after the hash of
+ * the key, wrapping around. Adding or removing a node only moves the keys of the arcs that node
+ * gains or loses. Points are kept in a sorted primitive array, so a lookup is a binary search
+ * without boxing.
+ *
+ * <p>The hash only depends on the characters of the key, so every JVM computes the same owners.
+ */
+public final class ConsistentHashRing {
+
+  private final long[] points;
+  private final String[] nodes;
+
+  public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+    if (nodeIds.isEmpty() || virtualNodes < 1) {
+      throw new IllegalArgumentException("A ring needs at least one node and one virtual node");
+    }
+    record Point(long hash, String node) {}
+    List<Point> ring = new ArrayList<>(nodeIds.size() * virtualNodes);
+    for (String node : nodeIds) {
+      for (int i = 0; i < virtualNodes; i++) {
+        ring.add(new Point(hash(node + '#' + i), node));
+      }
+    }
+    ring.sort(Comparator.comparingLong(Point::hash).thenComparing(Point::node));
+    points = new long[ring.size()];
+    nodes = new String[ring.size()];
+    for (int i = 0; i < ring.size(); i++) {
+      points[i] = ring.get(i).hash();
+      nodes[i] = ring.get(i).node();
+    }
+  }
+
+  public String owner(String key) {
+    long hash = hash(key);
+    int low = 0;
+    int high = points.length;
+    // First point at or after the hash, the first point of the ring if there is none
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (points[middle] < hash) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return nodes[low == points.length ? 0 : low];
+  }
+
+  /** FNV-1a over the characters of the key, followed by the MurmurHash3 finalizer. */
+  static long hash(String key) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,65 @@
+package com.trading.cluster;
+
+import com.trading.config.ClusterProperties;
+import com.trading.config.ClusterProperties.Member;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which node of the cluster matches each instrument. Only the owner of an instrument keeps its book
+ * and matches its orders; the other nodes forward requests about it to the owner. Membership is
+ * static, so ownership only changes when the nodes are restarted with a new member list.
+ */
+@Slf4j
+@Component
+public class InstrumentOwnership {
+
+  private final String nodeId;
+  private final Map<String, Member> members = new LinkedHashMap<>();
+  private final ConsistentHashRing ring;
+
+  public InstrumentOwnership(ClusterProperties properties) {
+    nodeId = properties.nodeId();
+    for (Member member : properties.members()) {
+      if (members.put(member.id(), member) != null) {
+        throw new IllegalStateException("Duplicate cluster member " + member.id());
+      }
+    }
+    if (members.isEmpty()) {
+      ring = null;
+    } else if (!members.containsKey(nodeId)) {
+      throw new IllegalStateException("Node " + nodeId + " is not a member of the cluster");
+    } else {
+      ring = new ConsistentHashRing(members.keySet(), properties.virtualNodes());
+      log.info("Node {} joined the cluster of {}", nodeId, members.keySet());
+    }
+  }
+
+  public boolean isClustered() {
+    return ring != null;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public Collection<Member> getMembers() {
+    return members.values();
+  }
+
+  public boolean isLocal(String symbol) {
+    return ownerId(symbol).equals(nodeId);
+  }
+
+  public String ownerId(String symbol) {
+    return ring != null ? ring.owner(symbol) : nodeId;
+  }
+
+  /** Member owning the instrument, {@code null} when the node is not part of a cluster. */
+  public Member owner(String symbol) {
+    return members.get(ownerId(symbol));
+  }
+}
@@ -0,0 +1,164 @@
+package com.trading.cluster;
+
+import com.trading.config.ClusterProperties;
+import com.trading.config.ClusterProperties.Member;
+import com.trading.dto.BatchOrderResult;
+import com.trading.dto.CancelResult;
+import com.trading.dto.CompositeOrderRequest;
+import com.trading.dto.CompositeOrderResult;
+import com.trading.dto.OrderRequest;
+import com.trading.dto.OrderResponse;
+import com.trading.dto.QuoteReplaceRequest;
+import com.trading.dto.QuoteReplaceResult;
+import com.trading.engine.BookSnapshot;
+import com.trading.exception.MisdirectedRequestException;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Forwards requests about instruments owned by another node to the REST API of their owner, and
+ * returns its answer as if the request had been served locally. Error responses of the owner are
+ * raised as {@link org.springframework.web.client.RestClientResponseException}s.
+ *
+ * <p>Forwarded requests are marked with {@link #FORWARDED_BY}. A node that receives a marked
+ * request for an instrument it does not own, because its member list differs from the sender's,
+ * rejects it instead of forwarding it again.
+ */
+@Component
+public class OrderForwarder {
+
+  public static final String FORWARDED_BY = "X-Trading-Forwarded-By";
+
+  private static final ParameterizedTypeReference<List<BatchOrderResult>> BATCH_RESULTS =
+      new ParameterizedTypeReference<>() {};
+  private static final ParameterizedTypeReference<List<CancelResult>> CANCEL_RESULTS =
+      new ParameterizedTypeReference<>() {};
+
+  private final InstrumentOwnership ownership;
+  private final RestClient restClient;
+
+  public OrderForwarder(
+      InstrumentOwnership ownership, ClusterProperties properties, RestClient.Builder builder) {
+    this.ownership = ownership;
+    JdkClientHttpRequestFactory requestFactory =
+        new JdkClientHttpRequestFactory(
+            HttpClient.newBuilder().connectTimeout(properties.forwardTimeout()).build());
+    requestFactory.setReadTimeout(properties.forwardTimeout());
+    this.restClient =
+        builder
+            .requestFactory(requestFactory)
+            .defaultHeader(FORWARDED_BY, ownership.getNodeId())
+            .build();
+  }
+
+  public OrderResponse placeOrder(OrderRequest request) {
+    return restClient
+        .post()
+        .uri(owner(request.instrumentSymbol()).url() + "/api/orders")
+        .body(request)
+        .retrieve()
+        .body(OrderResponse.class);
+  }
+
+  /** Places orders that all belong to instruments of the given member in one batch request. */
+  public List<BatchOrderResult> placeOrders(Member owner, List<OrderRequest> requests) {
+    checkNotForwarded(requests.getFirst().instrumentSymbol());
+    return restClient
+        .post()
+        .uri(owner.url() + "/api/orders/batch")
+        .body(requests)
+        .retrieve()
+        .body(BATCH_RESULTS);
+  }
+
+  public void cancelOrder(String symbol, UUID orderId) {
+    restClient
+        .delete()
+        .uri(owner(symbol).url() + "/api/orders/{orderId}", orderId)
+        .retrieve()
+        .toBodilessEntity();
+  }
+
+  /** Cancels the orders of a trader in an instrument owned by another node. */
+  public List<CancelResult> cancelOrders(String traderId, String symbol) {
+    return restClient
+        .delete()
+        .uri(
+            owner(symbol).url() + "/api/orders?traderId={traderId}&symbol={symbol}",
+            traderId,
+            symbol)
+        .retrieve()
+        .body(CANCEL_RESULTS);
+  }
+
+  /** Cancels the orders of a trader in every instrument owned by the given member. */
+  public List<CancelResult> cancelOrders(Member member, String traderId) {
+    return restClient
+        .delete()
+        .uri(member.url() + "/api/orders?traderId={traderId}", traderId)
+        .retrieve()
+        .body(CANCEL_RESULTS);
+  }
+
+  public QuoteReplaceResult replaceOrders(QuoteReplaceRequest request) {
+    return restClient
+        .post()
+        .uri(owner(request.symbol()).url() + "/api/orders/replace")
+        .body(request)
+        .retrieve()
+        .body(QuoteReplaceResult.class);
+  }
+
+  /** Creates a composite order whose legs are all owned by the owner of {@code symbol}. */
+  public UUID createCompositeOrder(String symbol, CompositeOrderRequest request) {
+    return restClient
+        .post()
+        .uri(owner(symbol).url() + "/api/orders/composite")
+        .body(request)
+        .retrieve()
+        .body(UUID.class);
+  }
+
+  /** Same as {@link #createCompositeOrder}, returning the outcome of each leg. */
+  public CompositeOrderResult placeCompositeOrder(String symbol, CompositeOrderRequest request) {
+    return restClient
+        .post()
+        .uri(owner(symbol).url() + "/api/orders/composite/legs")
+        .body(request)
+        .retrieve()
+        .body(CompositeOrderResult.class);
+  }
+
+  public BookSnapshot getBook(String symbol, int depth) {
+    return restClient
+        .get()
+        .uri(owner(symbol).url() + "/api/instruments/{symbol}/book?depth={depth}", symbol, depth)
+        .retrieve()
+        .body(BookSnapshot.class);
+  }
+
+  private Member owner(String symbol) {
+    checkNotForwarded(symbol);
+    return ownership.owner(symbol);
+  }
+
+  /** Whether the request being served was forwarded by another node. */
+  public boolean isForwarded() {
+    return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes request
+        && request.getRequest().getHeader(FORWARDED_BY) != null;
+  }
+
+  private void checkNotForwarded(String symbol) {
+    if (isForwarded()) {
+      throw new MisdirectedRequestException(
+          symbol, ownership.getNodeId(), ownership.ownerId(symbol));
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.trading.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Retention of historical data.
+ *
+ * @param enabled whether filled and cancelled orders are moved to {@code order_history}
+ * @param orderRetention how long after their creation terminal orders stay in {@code orders}
+ * @param interval delay between two archival runs
+ * @param batchSize orders moved by one archival statement
+ * @param tradePartitionsAhead monthly {@code trades} partitions created beyond the current one
+ */
+@ConfigurationProperties(prefix = "trading.archive")
+public record ArchiveProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1h") Duration orderRetention,
+    @DefaultValue("1m") Duration interval,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("2") int tradePartitionsAhead) {}
@@ -0,0 +1,30 @@
+package com.trading.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Static membership of the nodes sharing the database. Instruments are assigned to members by
+ * consistent hashing of their symbol, so every member computes the same owner without talking to
+ * the others. Without members, the node owns every instrument.
+ *
+ * @param nodeId id of this node, one of the {@code members} when there are any
+ * @param members every node of the cluster, this one included, listed identically on each node
+ * @param virtualNodes points of each member on the hash ring; more points spread the instruments
+ *     more evenly
+ * @param forwardTimeout how long a node waits for the owner of an instrument to answer a request
+ *     it forwarded
+ */
+@ConfigurationProperties(prefix = "trading.cluster")
+public record ClusterProperties(
+    @DefaultValue("local") String nodeId,
+    @DefaultValue List<Member> members,
+    @DefaultValue("128") int virtualNodes,
+    @DefaultValue("5s") Duration forwardTimeout) {
+
+  /** @param url base URL of the node's REST API */
+  public record Member(String id, URI url) {}
+}
@@ -0,0 +1,53 @@
+package com.trading.config;
+
+import com.trading.persistence.ConcurrencyLimitingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceConfig {
+
+  /** Puts the configured concurrency limit in front of the application's data source. */
+  @Bean
+  static BeanPostProcessor concurrencyLimitingDataSource(
+      ObjectProvider<DatabaseProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+            || bean instanceof ConcurrencyLimitingDataSource) {
+          return bean;
+        }
+        DatabaseProperties limits = properties.getObject();
+        if (limits.maxConcurrency() <= 0) {
+          return bean;
+        }
+        return new ConcurrencyLimitingDataSource(
+            dataSource, limits.maxConcurrency(), limits.acquireTimeout());
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder databaseLimiterMetrics(DataSource dataSource) {
+    return registry -> {
+      if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+        Gauge.builder(
+                "trading.database.permits.available",
+                limited,
+                ConcurrencyLimitingDataSource::availablePermits)
+            .description("Database permits not currently held")
+            .register(registry);
+        Gauge.builder(
+                "trading.database.permits.waiting", limited, ConcurrencyLimitingDataSource::waiting)
+            .description("Callers waiting for a database permit")
+            .register(registry);
+      }
+    };
+  }
+}
@@ -0,0 +1,16 @@
+package com.trading.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Database access limits, applied in front of the connection pool.
+ *
+ * @param maxConcurrency connections handed out at the same time, {@code 0} for no limit; kept
+ *     below the pool size so the write-behind persister always finds a free connection
+ * @param acquireTimeout how long a caller waits for a permit before failing
+ */
+@ConfigurationProperties(prefix = "trading.database")
+public record DatabaseProperties(
+    @DefaultValue("16") int maxConcurrency, @DefaultValue("5s") Duration acquireTimeout) {}
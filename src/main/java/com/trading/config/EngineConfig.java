@@ -0,0 +1,39 @@
+package com.trading.config;
+
+import com.trading.engine.MatchingEngine;
+import com.trading.metrics.EngineMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({
+  EngineProperties.class,
+  PersistenceProperties.class,
+  JournalProperties.class,
+  InstrumentProperties.class,
+  FeedProperties.class,
+  DatabaseProperties.class,
+  ArchiveProperties.class,
+  ClusterProperties.class,
+  ExpiryProperties.class,
+  RiskProperties.class,
+  RecordingProperties.class
+})
+public class EngineConfig {
+
+  @Bean(destroyMethod = "close")
+  public MatchingEngine matchingEngine(
+      EngineProperties properties,
+      InstrumentProperties instrumentProperties,
+      EngineMetrics metrics) {
+    MatchingEngine engine =
+        new MatchingEngine(
+            properties.shards(),
+            properties.queueCapacity(),
+            instrumentProperties::priceScale,
+            metrics::bookCreated);
+    metrics.registerShards(engine.getShards());
+    return engine;
+  }
+}
@@ -0,0 +1,14 @@
+package com.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Matching engine settings.
+ *
+ * @param shards number of matching threads; instruments are spread across them by symbol
+ * @param queueCapacity size of each shard's intake ring buffer, must be a power of two
+ */
+@ConfigurationProperties(prefix = "trading.engine")
+public record EngineProperties(
+    @DefaultValue("4") int shards, @DefaultValue("65536") int queueCapacity) {}
@@ -0,0 +1,32 @@
+package com.trading.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Expiry of orders by time in force.
+ *
+ * @param interval delay between two expiry passes over the books; orders expire at most this late
+ * @param sessionClose local time at which day orders expire
+ * @param zone time zone of {@code sessionClose}
+ */
+@ConfigurationProperties(prefix = "trading.expiry")
+public record ExpiryProperties(
+    @DefaultValue("1s") Duration interval,
+    @DefaultValue("00:00") LocalTime sessionClose,
+    @DefaultValue("UTC") ZoneId zone) {
+
+  /** First session close strictly after the given instant. */
+  public Instant nextSessionClose(Instant after) {
+    ZonedDateTime close = after.atZone(zone).with(sessionClose);
+    if (!close.toInstant().isAfter(after)) {
+      close = close.plusDays(1).with(sessionClose);
+    }
+    return close.toInstant();
+  }
+}
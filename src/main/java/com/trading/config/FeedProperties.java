@@ -0,0 +1,18 @@
+package com.trading.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Streaming feed settings.
+ *
+ * @param bufferSize events buffered per subscriber before the oldest ones are dropped
+ * @param maxSubscribers connections accepted at the same time
+ * @param timeout how long a feed connection stays open before the client has to reconnect
+ */
+@ConfigurationProperties(prefix = "trading.feed")
+public record FeedProperties(
+    @DefaultValue("1024") int bufferSize,
+    @DefaultValue("1000") int maxSubscribers,
+    @DefaultValue("30m") Duration timeout) {}
@@ -0,0 +1,47 @@
+package com.trading.config;
+
+import com.trading.engine.PriceScale;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Price grid of the traded instruments. The number of decimals of a tick size is the fixed-point
+ * scale the engine uses for that instrument. Tick sizes with more decimals than the two kept by the
+ * price columns are rejected when the properties are bound, since their prices could not be stored.
+ *
+ * @param tickSize tick size of instruments without an entry of their own
+ * @param tickSizes tick size by symbol
+ */
+@ConfigurationProperties(prefix = "trading.instruments")
+public record InstrumentProperties(
+    @DefaultValue("0.01") BigDecimal tickSize, @DefaultValue Map<String, BigDecimal> tickSizes) {
+
+  /** Decimals of the numeric price columns. */
+  public static final int PRICE_COLUMN_SCALE = 2;
+
+  public InstrumentProperties {
+    checkTickSize("tick-size", tickSize);
+    tickSizes.forEach((symbol, size) -> checkTickSize("tick-sizes[" + symbol + "]", size));
+  }
+
+  public PriceScale priceScale(String symbol) {
+    return PriceScale.ofTickSize(tickSizes.getOrDefault(symbol, tickSize));
+  }
+
+  private static void checkTickSize(String property, BigDecimal tickSize) {
+    if (tickSize.signum() <= 0) {
+      throw new IllegalArgumentException(property + " must be positive: " + tickSize);
+    }
+    if (tickSize.stripTrailingZeros().scale() > PRICE_COLUMN_SCALE) {
+      throw new IllegalArgumentException(
+          property
+              + " "
+              + tickSize.toPlainString()
+              + " has more than the "
+              + PRICE_COLUMN_SCALE
+              + " decimals stored by the price columns");
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.trading.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Event journal settings.
+ *
+ * @param enabled whether engine events are journaled and replayed on startup
+ * @param directory where journal segments are written
+ * @param segmentSize size of each memory-mapped segment file
+ * @param syncInterval longest time appended events stay unforced when nobody waits for them
+ * @param awaitSync whether order and cancel calls return only once their events are on disk
+ */
+@ConfigurationProperties(prefix = "trading.journal")
+public record JournalProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data/journal") String directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("10ms") Duration syncInterval,
+    @DefaultValue("true") boolean awaitSync) {}
@@ -0,0 +1,22 @@
+package com.trading.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Write-behind persistence settings.
+ *
+ * @param queueCapacity events buffered before matching threads are back-pressured
+ * @param batchSize events that trigger a flush without waiting for the interval
+ * @param flushInterval longest time an event waits before being written
+ * @param awaitCommit whether order and cancel calls return only once their writes are committed
+ * @param maxRetryBackoff longest pause between two attempts of a failed flush
+ */
+@ConfigurationProperties(prefix = "trading.persistence")
+public record PersistenceProperties(
+    @DefaultValue("65536") int queueCapacity,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("5ms") Duration flushInterval,
+    @DefaultValue("true") boolean awaitCommit,
+    @DefaultValue("5s") Duration maxRetryBackoff) {}
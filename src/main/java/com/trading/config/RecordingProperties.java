@@ -0,0 +1,17 @@
+package com.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Recording of the order flow for later replay.
+ *
+ * @param enabled whether the flow is recorded from startup
+ * @param file where the flow is recorded; an existing file is overwritten
+ * @param queueCapacity entries waiting for the writer thread before further ones are dropped
+ */
+@ConfigurationProperties(prefix = "trading.recording")
+public record RecordingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data/flow.rec") String file,
+    @DefaultValue("65536") int queueCapacity) {}
@@ -0,0 +1,26 @@
+package com.trading.config;
+
+import java.math.BigDecimal;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits of the built-in pre-trade risk checks. A limit of {@code 0} disables its check.
+ *
+ * @param maxOrderQuantity largest quantity of one order
+ * @param maxNotional largest quantity times price of one order; orders without a price are valued
+ *     at the market price of their instrument
+ * @param maxOpenOrders most orders a trader may have accepted and not yet filled, cancelled or
+ *     expired on this node
+ * @param priceBand largest distance of a limit or stop price from the market price of the
+ *     instrument, as a fraction of the market price ({@code 0.1} for 10%)
+ * @param maxPosition largest net quantity a trader may hold long or short in one instrument, with
+ *     the new order counted as filled
+ */
+@ConfigurationProperties(prefix = "trading.risk")
+public record RiskProperties(
+    @DefaultValue("0") int maxOrderQuantity,
+    @DefaultValue("0") BigDecimal maxNotional,
+    @DefaultValue("0") int maxOpenOrders,
+    @DefaultValue("0") BigDecimal priceBand,
+    @DefaultValue("0") long maxPosition) {}
@@ -0,0 +1,53 @@
+package com.trading.controller;
+
+import com.trading.config.FeedProperties;
+import com.trading.dto.FeedMessage;
+import com.trading.feed.FeedService;
+import com.trading.feed.FeedSink;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/feed")
+@Tag(name = "Streaming Feed", description = "Server-sent events of trades and order updates")
+public class FeedController {
+
+  private final FeedService feedService;
+  private final FeedProperties feedProperties;
+
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+      summary = "Stream trades and order status changes",
+      description =
+          "Sends 'trade' and 'order' events, and a 'gap' event when a slow client missed some")
+  public SseEmitter subscribe(
+      @RequestParam(required = false) String traderId,
+      @RequestParam(required = false) String symbol) {
+    SseEmitter emitter = new SseEmitter(feedProperties.timeout().toMillis());
+    Runnable unsubscribe = feedService.subscribe(traderId, symbol, new SseFeedSink(emitter));
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(error -> unsubscribe.run());
+    return emitter;
+  }
+
+  private record SseFeedSink(SseEmitter emitter) implements FeedSink {
+
+    @Override
+    public void send(FeedMessage message) throws IOException {
+      emitter.send(
+          SseEmitter.event().name(message.event()).data(message, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void fail(Exception cause) {
+      emitter.completeWithError(cause);
+    }
+  }
+}
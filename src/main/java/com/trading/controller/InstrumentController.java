@@ -0,0 +1,37 @@
+package com.trading.controller;
+
+import com.trading.cluster.InstrumentOwnership;
+import com.trading.cluster.OrderForwarder;
+import com.trading.engine.BookSnapshot;
+import com.trading.service.OrderBookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/instruments")
+@Tag(name = "Market Data", description = "Endpoints for instrument market data")
+public class InstrumentController {
+
+  static final int MAX_BOOK_DEPTH = 100;
+
+  private final OrderBookService orderBookService;
+  private final InstrumentOwnership ownership;
+  private final OrderForwarder forwarder;
+
+  @GetMapping("/{symbol}/book")
+  @Operation(
+      summary = "Get the aggregated order book",
+      description = "Best price levels of each side with their total quantity and order count")
+  public BookSnapshot getBook(
+      @PathVariable String symbol,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_BOOK_DEPTH) int depth) {
+    return ownership.isLocal(symbol)
+        ? orderBookService.getBook(symbol, depth)
+        : forwarder.getBook(symbol, depth);
+  }
+}
@@ -1,14 +1,21 @@
 package com.trading.controller;
 
+import com.trading.dto.BatchOrderResult;
+import com.trading.dto.CancelResult;
 import com.trading.dto.CompositeOrderRequest;
+import com.trading.dto.CompositeOrderResult;
 import com.trading.dto.OrderRequest;
 import com.trading.dto.OrderResponse;
+import com.trading.dto.QuoteReplaceRequest;
+import com.trading.dto.QuoteReplaceResult;
 import com.trading.entity.CompositeOrderStatus;
 import com.trading.service.CompositeOrderService;
 import com.trading.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -32,12 +39,42 @@ public class OrderController {
     return orderService.placeOrder(orderRequest);
   }
 
+  @PostMapping("/batch")
+  @Operation(
+      summary = "Place a batch of orders",
+      description = "Orders are validated and placed independently; each gets its own status")
+  public List<BatchOrderResult> placeOrders(@RequestBody List<OrderRequest> orderRequests) {
+    return orderService.placeOrders(orderRequests);
+  }
+
   @DeleteMapping("/{orderId}")
   @Operation(summary = "Cancel an existing order")
   public void cancelOrder(@PathVariable UUID orderId) {
     orderService.cancelOrder(orderId);
   }
 
+  @DeleteMapping
+  @Operation(
+      summary = "Cancel all orders of a trader",
+      description =
+          "Cancels the resting and waiting stop orders of the trader, in one instrument when"
+              + " symbol is given and in all of them otherwise, and returns the outcome of each"
+              + " cancelled order and of each node that failed")
+  public List<CancelResult> cancelOrders(
+      @RequestParam @NotBlank String traderId, @RequestParam(required = false) String symbol) {
+    return orderService.cancelOrders(traderId, symbol);
+  }
+
+  @PostMapping("/replace")
+  @Operation(
+      summary = "Replace all orders of a trader in an instrument",
+      description =
+          "Cancels the orders of the trader in the instrument and places the new ones without any"
+              + " other order of the instrument in between; nothing changes if one is rejected")
+  public QuoteReplaceResult replaceOrders(@Valid @RequestBody QuoteReplaceRequest request) {
+    return orderService.replaceOrders(request);
+  }
+
   @GetMapping("/{orderId}")
   @Operation(summary = "Get order details")
   public OrderResponse getOrder(@PathVariable UUID orderId) {
@@ -48,7 +85,18 @@ public class OrderController {
   @ResponseStatus(HttpStatus.CREATED)
   @Operation(summary = "Create a composite order")
   public UUID createCompositeOrder(@RequestBody CompositeOrderRequest request) {
-    return compositeOrderService.createCompositeOrder(request.instruments(), request.traderId());
+    return compositeOrderService.createCompositeOrder(
+        request.instruments(), request.traderId(), request.allOrNone());
+  }
+
+  @PostMapping("/composite/legs")
+  @ResponseStatus(HttpStatus.CREATED)
+  @Operation(
+      summary = "Create a composite order and return the outcome of each leg",
+      description = "A rejected leg gets its own status instead of failing the whole request")
+  public CompositeOrderResult placeCompositeOrder(@RequestBody CompositeOrderRequest request) {
+    return compositeOrderService.placeCompositeOrder(
+        request.instruments(), request.traderId(), request.allOrNone());
   }
 
   @GetMapping("/composite/{compositeId}/status")
@@ -0,0 +1,20 @@
+package com.trading.dto;
+
+/**
+ * Outcome of one order of a batch.
+ *
+ * @param index position of the order in the batch request
+ * @param status HTTP status the order would have received on its own
+ * @param order the placed order, when accepted
+ * @param error why the order was rejected, otherwise {@code null}
+ */
+public record BatchOrderResult(int index, int status, OrderResponse order, String error) {
+
+  public static BatchOrderResult placed(int index, int status, OrderResponse order) {
+    return new BatchOrderResult(index, status, order, null);
+  }
+
+  public static BatchOrderResult rejected(int index, int status, String error) {
+    return new BatchOrderResult(index, status, null, error);
+  }
+}
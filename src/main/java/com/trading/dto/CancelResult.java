@@ -0,0 +1,21 @@
+package com.trading.dto;
+
+/**
+ * Outcome of cancelling the orders of a trader on one node: one result per cancelled order, or a
+ * single failed result when the node could not cancel them.
+ *
+ * @param nodeId node owning the instrument of the order, or the node that failed
+ * @param status HTTP status of the cancellation on that node
+ * @param order the cancelled order, when cancelled
+ * @param error why the orders of the node were not cancelled, otherwise {@code null}
+ */
+public record CancelResult(String nodeId, int status, OrderResponse order, String error) {
+
+  public static CancelResult cancelled(String nodeId, OrderResponse order) {
+    return new CancelResult(nodeId, 200, order, null);
+  }
+
+  public static CancelResult failed(String nodeId, int status, String error) {
+    return new CancelResult(nodeId, status, null, error);
+  }
+}
@@ -4,5 +4,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import java.util.List;
 
+/** @param allOrNone whether no leg may be placed unless every leg is accepted */
 public record CompositeOrderRequest(
-    @NotEmpty List<CompositeInstrumentRequest> instruments, @NotBlank String traderId) {}
+    @NotEmpty List<CompositeInstrumentRequest> instruments,
+    @NotBlank String traderId,
+    boolean allOrNone) {
+
+  public CompositeOrderRequest(List<CompositeInstrumentRequest> instruments, String traderId) {
+    this(instruments, traderId, false);
+  }
+}
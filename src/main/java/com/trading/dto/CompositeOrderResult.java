@@ -0,0 +1,12 @@
+package com.trading.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a composite order.
+ *
+ * @param compositeId id to follow the status of the composite order with
+ * @param legs outcome of each leg, in the order of the request
+ */
+public record CompositeOrderResult(UUID compositeId, List<BatchOrderResult> legs) {}
@@ -0,0 +1,90 @@
+package com.trading.dto;
+
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.entity.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Message of the streaming feed, sent as a server-sent event named after {@link #event()}. */
+public sealed interface FeedMessage {
+
+  String event();
+
+  static FeedMessage of(EngineEvent event) {
+    return switch (event) {
+      case OrderAccepted accepted ->
+          new OrderUpdate(
+              accepted.orderId(),
+              accepted.traderId(),
+              accepted.symbol(),
+              accepted.status(),
+              accepted.remainingQuantity(),
+              accepted.compositeId());
+      case OrderUpdated updated ->
+          new OrderUpdate(
+              updated.orderId(),
+              updated.traderId(),
+              updated.symbol(),
+              updated.status(),
+              updated.remainingQuantity(),
+              updated.compositeId());
+      case TradeExecuted trade ->
+          new Trade(
+              trade.tradeId(),
+              trade.symbol(),
+              trade.buyOrderId(),
+              trade.sellOrderId(),
+              trade.price(),
+              trade.quantity(),
+              trade.timestamp());
+    };
+  }
+
+  /** Latest known state of an order; intermediate states may be skipped for slow consumers. */
+  record OrderUpdate(
+      UUID orderId,
+      String traderId,
+      String symbol,
+      OrderStatus status,
+      int remainingQuantity,
+      UUID compositeId)
+      implements FeedMessage {
+
+    @Override
+    public String event() {
+      return "order";
+    }
+  }
+
+  record Trade(
+      UUID tradeId,
+      String symbol,
+      UUID buyOrderId,
+      UUID sellOrderId,
+      BigDecimal price,
+      int quantity,
+      Instant timestamp)
+      implements FeedMessage {
+
+    @Override
+    public String event() {
+      return "trade";
+    }
+  }
+
+  /**
+   * Messages were dropped because the subscriber fell too far behind; state should be re-read
+   * through the REST API.
+   */
+  record Gap(long dropped) implements FeedMessage {
+
+    @Override
+    public String event() {
+      return "gap";
+    }
+  }
+}
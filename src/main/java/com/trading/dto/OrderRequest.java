@@ -2,23 +2,64 @@ package com.trading.dto;
 
 import com.trading.entity.OrderDirection;
 import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public record OrderRequest(
     @NotBlank(message = "Trader ID is required") String traderId,
     @NotBlank(message = "Instrument symbol is required") String instrumentSymbol,
     @NotNull(message = "Direction of order is required (BUY or SELL)") OrderDirection direction,
     @NotNull(message = "Order type is required (MARKET or LIMIT)") OrderType type,
-    @Min(value = 1, message = "Minimum quantity is 1") Integer quantity,
-    @Positive(message = "Price must be positive when specified") BigDecimal price) {
+    @NotNull(message = "Quantity is required") @Min(value = 1, message = "Minimum quantity is 1")
+        Integer quantity,
+    @Positive(message = "Price must be positive when specified") BigDecimal price,
+    @Positive(message = "Stop price must be positive when specified") BigDecimal stopPrice,
+    TimeInForce timeInForce,
+    @Future(message = "Expiry time must be in the future") Instant expiresAt) {
 
   public OrderRequest {
-    if (type == OrderType.LIMIT && price == null) {
+    if (type != null && type.isPriced() && price == null) {
       throw new IllegalArgumentException("Limit orders require a price");
     }
-    if (type == OrderType.MARKET && price != null) {
+    if (type != null && !type.isPriced() && price != null) {
       throw new IllegalArgumentException("Market orders cannot have a price");
     }
+    if (type != null && type.isStop() && stopPrice == null) {
+      throw new IllegalArgumentException("Stop orders require a stop price");
+    }
+    if (type != null && !type.isStop() && stopPrice != null) {
+      throw new IllegalArgumentException("Only stop orders can have a stop price");
+    }
+    if (timeInForce == TimeInForce.GOOD_TILL_DATE && expiresAt == null) {
+      throw new IllegalArgumentException("Good-till-date orders require an expiry time");
+    }
+    if (timeInForce != TimeInForce.GOOD_TILL_DATE && expiresAt != null) {
+      throw new IllegalArgumentException("Only good-till-date orders can have an expiry time");
+    }
+  }
+
+  /** Order that is not a stop order. */
+  public OrderRequest(
+      String traderId,
+      String instrumentSymbol,
+      OrderDirection direction,
+      OrderType type,
+      Integer quantity,
+      BigDecimal price) {
+    this(traderId, instrumentSymbol, direction, type, quantity, price, null);
+  }
+
+  /** Order that is good till cancelled. */
+  public OrderRequest(
+      String traderId,
+      String instrumentSymbol,
+      OrderDirection direction,
+      OrderType type,
+      Integer quantity,
+      BigDecimal price,
+      BigDecimal stopPrice) {
+    this(traderId, instrumentSymbol, direction, type, quantity, price, stopPrice, null, null);
   }
 }
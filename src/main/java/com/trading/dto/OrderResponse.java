@@ -3,16 +3,21 @@ package com.trading.dto;
 import com.trading.entity.OrderDirection;
 import com.trading.entity.OrderStatus;
 import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 
 public record OrderResponse(
-    String orderId,
+    UUID orderId,
     String traderId,
     String instrumentSymbol,
     OrderDirection direction,
     OrderType type,
-    Integer quantity,
+    int quantity,
     BigDecimal price,
     OrderStatus status,
-    Instant createdAt) {}
+    Instant createdAt,
+    BigDecimal stopPrice,
+    TimeInForce timeInForce,
+    Instant expiresAt) {}
@@ -0,0 +1,16 @@
+package com.trading.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * New orders replacing every order of a trader in one instrument.
+ *
+ * @param orders orders of {@code traderId} in {@code symbol}; empty to only cancel
+ */
+public record QuoteReplaceRequest(
+    @NotBlank(message = "Trader ID is required") String traderId,
+    @NotBlank(message = "Instrument symbol is required") String symbol,
+    @NotNull(message = "Orders are required") List<@Valid @NotNull OrderRequest> orders) {}
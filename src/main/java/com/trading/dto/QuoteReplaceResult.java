@@ -0,0 +1,11 @@
+package com.trading.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a quote replacement.
+ *
+ * @param cancelled orders of the trader that were cancelled
+ * @param placed the new orders as processed, in the order of the request
+ */
+public record QuoteReplaceResult(List<OrderResponse> cancelled, List<OrderResponse> placed) {}
@@ -0,0 +1,21 @@
+package com.trading.engine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Aggregated price levels of an order book at one point in its sequence of events, best level
+ * first on each side.
+ */
+public record BookSnapshot(String symbol, List<Level> bids, List<Level> asks) {
+
+  public static BookSnapshot empty(String symbol) {
+    return new BookSnapshot(symbol, List.of(), List.of());
+  }
+
+  /**
+   * @param quantity total remaining quantity resting at the price
+   * @param orders number of orders resting at the price
+   */
+  public record Level(BigDecimal price, long quantity, int orders) {}
+}
@@ -0,0 +1,124 @@
+package com.trading.engine;
+
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State change produced by a matching shard. Events are immutable snapshots, so consumers on other
+ * threads never read the mutable orders owned by the shard.
+ */
+public sealed interface EngineEvent {
+
+  String symbol();
+
+  /** A new order entered the engine, carrying its state before any fill. */
+  record OrderAccepted(
+      UUID orderId,
+      String traderId,
+      UUID instrumentId,
+      String symbol,
+      OrderDirection direction,
+      OrderType type,
+      BigDecimal price,
+      BigDecimal stopPrice,
+      TimeInForce timeInForce,
+      Instant expiresAt,
+      int quantity,
+      int remainingQuantity,
+      OrderStatus status,
+      Instant createdAt,
+      UUID compositeId,
+      long version)
+      implements EngineEvent {
+
+    public static OrderAccepted of(OrderEntity order) {
+      return new OrderAccepted(
+          order.getId(),
+          order.getTraderId(),
+          order.getInstrument().getId(),
+          order.getInstrument().getSymbol(),
+          order.getDirection(),
+          order.getType(),
+          order.getPrice(),
+          order.getStopPrice(),
+          order.getTimeInForce(),
+          order.getExpiresAt(),
+          order.getQuantity(),
+          order.getRemainingQuantity(),
+          order.getStatus(),
+          order.getCreatedAt(),
+          compositeIdOf(order),
+          order.getVersion());
+    }
+
+    public OrderAccepted withState(int remainingQuantity, OrderStatus status, long version) {
+      return new OrderAccepted(
+          orderId,
+          traderId,
+          instrumentId,
+          symbol,
+          direction,
+          type,
+          price,
+          stopPrice,
+          timeInForce,
+          expiresAt,
+          quantity,
+          remainingQuantity,
+          status,
+          createdAt,
+          compositeId,
+          version);
+    }
+  }
+
+  /**
+   * Remaining quantity or status of an order changed through a fill or a cancellation. Each update
+   * of an order carries a higher version than the previous one.
+   */
+  record OrderUpdated(
+      UUID orderId,
+      String traderId,
+      String symbol,
+      int remainingQuantity,
+      OrderStatus status,
+      UUID compositeId,
+      long version)
+      implements EngineEvent {
+
+    public static OrderUpdated of(OrderEntity order) {
+      return new OrderUpdated(
+          order.getId(),
+          order.getTraderId(),
+          order.getInstrument().getSymbol(),
+          order.getRemainingQuantity(),
+          order.getStatus(),
+          compositeIdOf(order),
+          order.getVersion());
+    }
+  }
+
+  /** Two orders traded; the price is also the new market price of the instrument. */
+  record TradeExecuted(
+      UUID tradeId,
+      UUID instrumentId,
+      String symbol,
+      UUID buyOrderId,
+      String buyTraderId,
+      UUID sellOrderId,
+      String sellTraderId,
+      BigDecimal price,
+      int quantity,
+      Instant timestamp)
+      implements EngineEvent {}
+
+  private static UUID compositeIdOf(OrderEntity order) {
+    return order.getCompositeOrder() == null ? null : order.getCompositeOrder().getCompositeId();
+  }
+}
@@ -0,0 +1,10 @@
+package com.trading.engine;
+
+/**
+ * Receives the events of every matching shard. Called on the shard thread, so implementations
+ * must hand work off instead of blocking.
+ */
+public interface EngineEventListener {
+
+  void onEvent(EngineEvent event);
+}
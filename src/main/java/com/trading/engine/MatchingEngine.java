@@ -0,0 +1,59 @@
+package com.trading.engine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Fixed set of {@link MatchingShard}s. Every instrument is pinned to one shard by its symbol, so
+ * all orders of an instrument are sequenced by the same thread.
+ */
+public class MatchingEngine implements AutoCloseable {
+
+  private final List<MatchingShard> shards;
+  private final Map<String, PriceScale> priceScales = new ConcurrentHashMap<>();
+  private final Function<String, PriceScale> priceScaleResolver;
+
+  /**
+   * @param priceScaleResolver price grid of an instrument by symbol, resolved once per symbol
+   * @param bookListener notified of every book created, on the thread of its shard
+   */
+  public MatchingEngine(
+      int shardCount,
+      int queueCapacity,
+      Function<String, PriceScale> priceScaleResolver,
+      Consumer<OrderBook> bookListener) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("At least one matching shard is required");
+    }
+    this.priceScaleResolver = priceScaleResolver;
+    this.shards =
+        IntStream.range(0, shardCount)
+            .mapToObj(
+                i ->
+                    new MatchingShard(
+                        "matching-shard-" + i, queueCapacity, this::priceScale, bookListener))
+            .toList();
+    shards.forEach(MatchingShard::start);
+  }
+
+  public MatchingShard shardFor(String symbol) {
+    return shards.get(Math.floorMod(symbol.hashCode(), shards.size()));
+  }
+
+  public PriceScale priceScale(String symbol) {
+    return priceScales.computeIfAbsent(symbol, priceScaleResolver);
+  }
+
+  public List<MatchingShard> getShards() {
+    return shards;
+  }
+
+  @Override
+  public void close() {
+    shards.forEach(MatchingShard::close);
+  }
+}
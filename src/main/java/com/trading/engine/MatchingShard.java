@@ -0,0 +1,145 @@
+package com.trading.engine;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Single matching thread owning the books of a subset of instruments. Work is handed over through
+ * a {@link RingBuffer} and executed strictly in submission order, which gives price-time priority
+ * per instrument without any locking: books are only ever touched from this thread.
+ */
+public class MatchingShard implements AutoCloseable {
+
+  private static final int SPIN_LIMIT = 100;
+  private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final RingBuffer<Runnable> queue;
+  private final Function<String, PriceScale> priceScales;
+  private final Consumer<OrderBook> bookListener;
+  private final Map<String, OrderBook> books = new HashMap<>();
+  private final Thread thread;
+  private volatile boolean running = true;
+  private volatile boolean parked;
+
+  /** @param bookListener notified on the shard thread of every book created by this shard */
+  public MatchingShard(
+      String name,
+      int queueCapacity,
+      Function<String, PriceScale> priceScales,
+      Consumer<OrderBook> bookListener) {
+    this.queue = new RingBuffer<>(queueCapacity);
+    this.priceScales = priceScales;
+    this.bookListener = bookListener;
+    this.thread = new Thread(this::run, name);
+    this.thread.setDaemon(true);
+  }
+
+  public void start() {
+    thread.start();
+  }
+
+  public String getName() {
+    return thread.getName();
+  }
+
+  /** Tasks waiting in the intake queue; a snapshot when read from other threads. */
+  public int queueSize() {
+    return queue.size();
+  }
+
+  /**
+   * Queues a task for execution on the matching thread. Blocks by spinning while the queue is
+   * full, which back-pressures callers instead of dropping orders.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Runnable runnable =
+        () -> {
+          try {
+            future.complete(task.get());
+          } catch (Throwable e) {
+            future.completeExceptionally(e);
+          }
+        };
+    while (!queue.offer(runnable)) {
+      if (!running) {
+        throw new IllegalStateException("Matching shard " + thread.getName() + " is stopped");
+      }
+      Thread.onSpinWait();
+    }
+    if (parked) {
+      LockSupport.unpark(thread);
+    }
+    return future;
+  }
+
+  /** Book of the given instrument; must only be called from tasks running on this shard. */
+  public OrderBook book(String symbol) {
+    return books.computeIfAbsent(symbol, this::newBook);
+  }
+
+  /** Book of the given instrument if this shard has created one yet; shard tasks only. */
+  public OrderBook findBook(String symbol) {
+    return books.get(symbol);
+  }
+
+  /** Every book of this shard; shard tasks only. */
+  public Collection<OrderBook> books() {
+    return books.values();
+  }
+
+  /** Replaces the book of the given instrument with an empty one; shard tasks only. */
+  public OrderBook resetBook(String symbol) {
+    OrderBook book = newBook(symbol);
+    books.put(symbol, book);
+    return book;
+  }
+
+  /** Replaces every book of this shard with an empty one; shard tasks only. */
+  public void clear() {
+    books.replaceAll((symbol, book) -> newBook(symbol));
+  }
+
+  private OrderBook newBook(String symbol) {
+    OrderBook book = new OrderBook(symbol, priceScales.apply(symbol));
+    bookListener.accept(book);
+    return book;
+  }
+
+  private void run() {
+    int idle = 0;
+    while (running) {
+      Runnable task = queue.poll();
+      if (task != null) {
+        idle = 0;
+        task.run();
+      } else if (++idle <= SPIN_LIMIT) {
+        Thread.onSpinWait();
+      } else {
+        parked = true;
+        if (queue.isEmpty()) {
+          LockSupport.parkNanos(this, PARK_NANOS);
+        }
+        parked = false;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,335 @@
+package com.trading.engine;
+
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Resident limit order book of a single instrument. Each side is a {@link PriceLadder} of levels
+ * keyed by fixed-point price, best level first; orders within a level keep their arrival order.
+ * Prices are converted to the book's {@link PriceScale} once when an order enters the book, so
+ * matching only compares primitive longs. Matching walks the opposite side from the best level and
+ * stops at the first level that does not cross, so its cost depends on the number of fills and not
+ * on the depth of the book.
+ *
+ * <p>Stop orders wait outside the book in a trigger index per side, which is also a {@link
+ * PriceLadder}, keyed by stop price with the next stop to trigger as its best level. A trade only
+ * visits the levels it triggers.
+ *
+ * <p>Orders resting or waiting for their trigger are also indexed by trader, and those with an
+ * expiry time are scheduled on a {@link TimingWheel} of the book. Both are dropped as soon as the
+ * order leaves the book.
+ *
+ * <p>Books are owned by their shard thread; only {@link #depth} and {@link #levels} may be read
+ * from other threads, as a possibly stale snapshot for monitoring.
+ */
+public class OrderBook {
+
+  /** Resolution of order expiry; orders expire at most this late. */
+  static final long EXPIRY_TICK_MILLIS = 100;
+
+  private final String symbol;
+  private final PriceScale priceScale;
+  private final PriceLadder bids = new PriceLadder(true);
+  private final PriceLadder asks = new PriceLadder(false);
+  private final Map<UUID, OrderEntity> orders = new HashMap<>();
+  // Buy stops trigger as the price rises to them, so the lowest is next; sell stops the other way
+  private final PriceLadder buyStops = new PriceLadder(false);
+  private final PriceLadder sellStops = new PriceLadder(true);
+  private final Map<UUID, OrderEntity> stops = new HashMap<>();
+  private final TimingWheel<OrderEntity> expiries =
+      new TimingWheel<>(EXPIRY_TICK_MILLIS, System.currentTimeMillis());
+  private final Map<UUID, TimingWheel.Timeout<OrderEntity>> timeouts = new HashMap<>();
+  private final Map<String, Map<UUID, OrderEntity>> ordersByTrader = new HashMap<>();
+  private int bidDepth;
+  private int askDepth;
+
+  public OrderBook(String symbol, PriceScale priceScale) {
+    this.symbol = symbol;
+    this.priceScale = priceScale;
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  public PriceScale getPriceScale() {
+    return priceScale;
+  }
+
+  /** Rests a priced order with remaining quantity at the back of its price level. */
+  public void add(OrderEntity order) {
+    if (order.getPrice() == null) {
+      throw new IllegalArgumentException("Only priced orders can rest in the book");
+    }
+    long price = priceScale.toFixed(order.getPrice());
+    side(order.getDirection()).getOrCreate(price).add(order);
+    orders.put(order.getId(), order);
+    changeDepth(order.getDirection(), 1);
+    track(order);
+  }
+
+  /** Holds a stop order in the trigger index until a trade reaches its stop price. */
+  public void addStop(OrderEntity order) {
+    long stopPrice = priceScale.toFixed(order.getStopPrice());
+    stopSide(order.getDirection()).getOrCreate(stopPrice).add(order);
+    stops.put(order.getId(), order);
+    track(order);
+  }
+
+  /**
+   * Removes a resting order from the book, or a stop order from the trigger index.
+   *
+   * @return the removed order, or {@code null} if it was neither resting nor waiting
+   */
+  public OrderEntity remove(UUID orderId) {
+    OrderEntity order = orders.remove(orderId);
+    if (order == null) {
+      return removeStop(orderId);
+    }
+    untrack(order);
+    PriceLadder side = side(order.getDirection());
+    long price = priceScale.toFixed(order.getPrice());
+    PriceLevel level = side.get(price);
+    if (level != null) {
+      level.remove(order);
+      if (level.isEmpty()) {
+        side.remove(price);
+      }
+    }
+    changeDepth(order.getDirection(), -1);
+    return order;
+  }
+
+  /** Resting order or waiting stop order with the given id. */
+  public OrderEntity get(UUID orderId) {
+    OrderEntity order = orders.get(orderId);
+    return order != null ? order : stops.get(orderId);
+  }
+
+  public boolean contains(UUID orderId) {
+    return orders.containsKey(orderId) || stops.containsKey(orderId);
+  }
+
+  public int size() {
+    return orders.size();
+  }
+
+  /** Resting and waiting stop orders of a trader in arrival order, from the per-trader index. */
+  public List<OrderEntity> ordersOf(String traderId) {
+    Map<UUID, OrderEntity> traderOrders = ordersByTrader.get(traderId);
+    return traderOrders != null ? List.copyOf(traderOrders.values()) : List.of();
+  }
+
+  /** Number of orders resting on the given side. */
+  public int depth(OrderDirection direction) {
+    return direction == OrderDirection.BUY ? bidDepth : askDepth;
+  }
+
+  /** Number of distinct price levels on the given side. */
+  public int levels(OrderDirection direction) {
+    return side(direction).size();
+  }
+
+  /**
+   * Matches the incoming order against the opposite side of the book, best price first and FIFO
+   * within a level. Remaining quantities are updated in place and fully filled resting orders are
+   * removed; the incoming order itself is never added to the book here.
+   *
+   * @return the number of fills
+   */
+  public int match(OrderEntity incoming, FillHandler fillHandler) {
+    boolean buy = incoming.getDirection() == OrderDirection.BUY;
+    OrderDirection passive = buy ? OrderDirection.SELL : OrderDirection.BUY;
+    PriceLadder opposite = side(passive);
+    int fills = 0;
+    long limit = limit(incoming, buy);
+
+    while (incoming.getRemainingQuantity() > 0 && !opposite.isEmpty()) {
+      PriceLevel level = opposite.best();
+      if (buy ? level.getPrice() > limit : level.getPrice() < limit) {
+        break;
+      }
+      while (incoming.getRemainingQuantity() > 0 && !level.isEmpty()) {
+        OrderEntity resting = level.peek();
+        int quantity = Math.min(incoming.getRemainingQuantity(), resting.getRemainingQuantity());
+        incoming.setRemainingQuantity(incoming.getRemainingQuantity() - quantity);
+        resting.setRemainingQuantity(resting.getRemainingQuantity() - quantity);
+        level.reduce(quantity);
+        if (resting.getRemainingQuantity() == 0) {
+          level.poll();
+          orders.remove(resting.getId());
+          untrack(resting);
+          changeDepth(passive, -1);
+        }
+        fills++;
+        // Resting orders always carry a price, and the passive side sets the trade price
+        fillHandler.onFill(resting, level.getPrice(), quantity);
+      }
+      if (level.isEmpty()) {
+        opposite.removeBest();
+      }
+    }
+    return fills;
+  }
+
+  /**
+   * Whether matching the incoming order now would fill it completely. Only the totals of the
+   * crossing levels are read, and the book is not changed.
+   */
+  public boolean canFill(OrderEntity incoming) {
+    boolean buy = incoming.getDirection() == OrderDirection.BUY;
+    PriceLadder opposite = side(buy ? OrderDirection.SELL : OrderDirection.BUY);
+    long limit = limit(incoming, buy);
+    long missing = incoming.getRemainingQuantity();
+    for (int rank = 0; rank < opposite.size() && missing > 0; rank++) {
+      PriceLevel level = opposite.level(rank);
+      if (buy ? level.getPrice() > limit : level.getPrice() < limit) {
+        break;
+      }
+      missing -= level.getQuantity();
+    }
+    return missing <= 0;
+  }
+
+  public boolean hasStops() {
+    return !stops.isEmpty();
+  }
+
+  /**
+   * Takes the stop orders triggered by a trade at the given price out of the trigger index: buy
+   * stops at or below the price, then sell stops at or above it. Each side is released from the
+   * nearest stop price, in arrival order within a price.
+   *
+   * @param price trade price in fixed-point units of the book's {@link PriceScale}
+   */
+  public void triggerStops(long price, Consumer<OrderEntity> triggered) {
+    release(buyStops, price, true, triggered);
+    release(sellStops, price, false, triggered);
+  }
+
+  /**
+   * Takes the orders whose expiry time has passed out of the book and the trigger index.
+   *
+   * @param nowMillis current epoch milliseconds
+   * @return the number of orders expired
+   */
+  public int expire(long nowMillis, Consumer<OrderEntity> expired) {
+    return expiries.advance(
+        nowMillis,
+        order -> {
+          remove(order.getId());
+          expired.accept(order);
+        });
+  }
+
+  /** Aggregated view of the best {@code depth} levels of each side, built in O(depth). */
+  public BookSnapshot snapshot(int depth) {
+    return new BookSnapshot(symbol, summarize(bids, depth), summarize(asks, depth));
+  }
+
+  private List<BookSnapshot.Level> summarize(PriceLadder side, int depth) {
+    int count = Math.min(depth, side.size());
+    List<BookSnapshot.Level> levels = new ArrayList<>(count);
+    for (int rank = 0; rank < count; rank++) {
+      PriceLevel level = side.level(rank);
+      levels.add(
+          new BookSnapshot.Level(
+              priceScale.toDecimal(level.getPrice()), level.getQuantity(), level.size()));
+    }
+    return levels;
+  }
+
+  private void release(
+      PriceLadder stopSide, long price, boolean buy, Consumer<OrderEntity> triggered) {
+    for (PriceLevel level = stopSide.best();
+        level != null && (buy ? level.getPrice() <= price : level.getPrice() >= price);
+        level = stopSide.best()) {
+      for (OrderEntity order = level.poll(); order != null; order = level.poll()) {
+        stops.remove(order.getId());
+        // Tracked again if the order rests once triggered
+        untrack(order);
+        triggered.accept(order);
+      }
+      stopSide.removeBest();
+    }
+  }
+
+  private OrderEntity removeStop(UUID orderId) {
+    OrderEntity order = stops.remove(orderId);
+    if (order == null) {
+      return null;
+    }
+    untrack(order);
+    PriceLadder stopSide = stopSide(order.getDirection());
+    long stopPrice = priceScale.toFixed(order.getStopPrice());
+    PriceLevel level = stopSide.get(stopPrice);
+    if (level != null) {
+      level.remove(order);
+      if (level.isEmpty()) {
+        stopSide.remove(stopPrice);
+      }
+    }
+    return order;
+  }
+
+  /** Indexes an order entering the book or the trigger index by trader and by expiry. */
+  private void track(OrderEntity order) {
+    ordersByTrader
+        .computeIfAbsent(order.getTraderId(), traderId -> new LinkedHashMap<>())
+        .put(order.getId(), order);
+    if (order.getExpiresAt() != null) {
+      timeouts.put(order.getId(), expiries.schedule(order, order.getExpiresAt().toEpochMilli()));
+    }
+  }
+
+  private void untrack(OrderEntity order) {
+    Map<UUID, OrderEntity> traderOrders = ordersByTrader.get(order.getTraderId());
+    if (traderOrders != null) {
+      traderOrders.remove(order.getId());
+      if (traderOrders.isEmpty()) {
+        ordersByTrader.remove(order.getTraderId());
+      }
+    }
+    TimingWheel.Timeout<OrderEntity> timeout = timeouts.remove(order.getId());
+    if (timeout != null) {
+      timeout.cancel();
+    }
+  }
+
+  /** Worst price the order accepts, unbounded for orders without a limit price. */
+  private long limit(OrderEntity order, boolean buy) {
+    if (order.getPrice() != null) {
+      return priceScale.toFixed(order.getPrice());
+    }
+    return buy ? Long.MAX_VALUE : Long.MIN_VALUE;
+  }
+
+  private PriceLadder side(OrderDirection direction) {
+    return direction == OrderDirection.BUY ? bids : asks;
+  }
+
+  private PriceLadder stopSide(OrderDirection direction) {
+    return direction == OrderDirection.BUY ? buyStops : sellStops;
+  }
+
+  private void changeDepth(OrderDirection direction, int delta) {
+    if (direction == OrderDirection.BUY) {
+      bidDepth += delta;
+    } else {
+      askDepth += delta;
+    }
+  }
+
+  @FunctionalInterface
+  public interface FillHandler {
+    /** @param price trade price in fixed-point units of the book's {@link PriceScale} */
+    void onFill(OrderEntity resting, long price, int quantity);
+  }
+}
@@ -0,0 +1,89 @@
+package com.trading.engine;
+
+import java.util.Arrays;
+
+/**
+ * One side of an order book. Levels are indexed by a primitive {@code long} key array kept in
+ * ascending order with the best price last, so lookups are binary searches without boxing, and
+ * adding or removing levels near the best price, where most activity happens, shifts few entries.
+ * Bids use the price itself as key and asks its negation.
+ */
+class PriceLadder {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final boolean bestIsHighest;
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private PriceLevel[] levels = new PriceLevel[INITIAL_CAPACITY];
+  private int size;
+
+  PriceLadder(boolean bestIsHighest) {
+    this.bestIsHighest = bestIsHighest;
+  }
+
+  /** Best level, or {@code null} if the side is empty. */
+  PriceLevel best() {
+    return size == 0 ? null : levels[size - 1];
+  }
+
+  /** Level at the given distance from the best one, {@code 0} being the best level. */
+  PriceLevel level(int rank) {
+    return levels[size - 1 - rank];
+  }
+
+  PriceLevel get(long price) {
+    int index = indexOf(price);
+    return index >= 0 ? levels[index] : null;
+  }
+
+  PriceLevel getOrCreate(long price) {
+    int index = indexOf(price);
+    if (index >= 0) {
+      return levels[index];
+    }
+    int insertion = -index - 1;
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      levels = Arrays.copyOf(levels, size * 2);
+    }
+    System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+    System.arraycopy(levels, insertion, levels, insertion + 1, size - insertion);
+    keys[insertion] = key(price);
+    levels[insertion] = new PriceLevel(price);
+    size++;
+    return levels[insertion];
+  }
+
+  void remove(long price) {
+    int index = indexOf(price);
+    if (index >= 0) {
+      removeAt(index);
+    }
+  }
+
+  void removeBest() {
+    removeAt(size - 1);
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void removeAt(int index) {
+    System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+    System.arraycopy(levels, index + 1, levels, index, size - index - 1);
+    levels[--size] = null;
+  }
+
+  private int indexOf(long price) {
+    return Arrays.binarySearch(keys, 0, size, key(price));
+  }
+
+  private long key(long price) {
+    return bestIsHighest ? price : -price;
+  }
+}
@@ -0,0 +1,67 @@
+package com.trading.engine;
+
+import com.trading.entity.OrderEntity;
+import java.util.ArrayDeque;
+
+/**
+ * Resting orders sharing the same limit price, kept in arrival (FIFO) order. The price is in the
+ * fixed-point units of the book's {@link PriceScale}. The level also keeps the total remaining
+ * quantity of its orders, which the book updates as orders are added, filled and removed.
+ */
+public class PriceLevel {
+
+  private final long price;
+  private final ArrayDeque<OrderEntity> orders = new ArrayDeque<>();
+  private long quantity;
+
+  public PriceLevel(long price) {
+    this.price = price;
+  }
+
+  public long getPrice() {
+    return price;
+  }
+
+  public void add(OrderEntity order) {
+    orders.addLast(order);
+    quantity += order.getRemainingQuantity();
+  }
+
+  public OrderEntity peek() {
+    return orders.peekFirst();
+  }
+
+  public OrderEntity poll() {
+    OrderEntity order = orders.pollFirst();
+    if (order != null) {
+      quantity -= order.getRemainingQuantity();
+    }
+    return order;
+  }
+
+  public boolean remove(OrderEntity order) {
+    if (!orders.remove(order)) {
+      return false;
+    }
+    quantity -= order.getRemainingQuantity();
+    return true;
+  }
+
+  /** Accounts for a fill of the given quantity against one of the orders of this level. */
+  public void reduce(int filled) {
+    quantity -= filled;
+  }
+
+  /** Total remaining quantity of the orders at this level. */
+  public long getQuantity() {
+    return quantity;
+  }
+
+  public boolean isEmpty() {
+    return orders.isEmpty();
+  }
+
+  public int size() {
+    return orders.size();
+  }
+}
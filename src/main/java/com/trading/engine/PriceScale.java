@@ -0,0 +1,62 @@
+package com.trading.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Fixed-point price grid of an instrument. Inside the engine a price is a {@code long} number of
+ * 10<sup>-scale</sup> units, so comparing prices on the matching path never allocates; {@link
+ * BigDecimal}s only exist at the REST and persistence boundaries. Valid prices are whole multiples
+ * of the tick size.
+ *
+ * @param scale number of decimals of the fixed-point representation
+ * @param tickUnits tick size expressed in fixed-point units
+ */
+public record PriceScale(int scale, long tickUnits) {
+
+  public PriceScale {
+    if (scale < 0 || tickUnits <= 0) {
+      throw new IllegalArgumentException("Invalid price scale " + scale + "/" + tickUnits);
+    }
+  }
+
+  /** Price grid of the given tick size, using as many decimals as the tick size has. */
+  public static PriceScale ofTickSize(BigDecimal tickSize) {
+    if (tickSize.signum() <= 0) {
+      throw new IllegalArgumentException("Tick size must be positive: " + tickSize);
+    }
+    BigDecimal normalized = tickSize.stripTrailingZeros();
+    int scale = Math.max(0, normalized.scale());
+    return new PriceScale(scale, normalized.setScale(scale).unscaledValue().longValueExact());
+  }
+
+  public BigDecimal tickSize() {
+    return BigDecimal.valueOf(tickUnits, scale);
+  }
+
+  /** Whether the price lies on the tick grid and fits the fixed-point range. */
+  public boolean isOnTick(BigDecimal price) {
+    if (price.stripTrailingZeros().scale() > scale) {
+      return false;
+    }
+    BigInteger units = price.setScale(scale).unscaledValue();
+    return units.bitLength() < Long.SIZE && units.longValue() % tickUnits == 0;
+  }
+
+  /**
+   * Converts a decimal price to fixed-point units.
+   *
+   * @throws IllegalArgumentException if the price is not on the tick grid
+   */
+  public long toFixed(BigDecimal price) {
+    if (!isOnTick(price)) {
+      throw new IllegalArgumentException(
+          "Price " + price.toPlainString() + " is not a multiple of the tick size " + tickSize());
+    }
+    return price.setScale(scale).unscaledValue().longValue();
+  }
+
+  public BigDecimal toDecimal(long units) {
+    return BigDecimal.valueOf(units, scale);
+  }
+}
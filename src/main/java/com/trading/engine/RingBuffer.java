@@ -0,0 +1,96 @@
+package com.trading.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer queue. Producers claim a slot with a CAS on
+ * the tail sequence and publish it by advancing the slot's own sequence; the single consumer reads
+ * slots in order without any atomic read-modify-write.
+ *
+ * @param <E> element type
+ */
+public class RingBuffer<E> {
+
+  private final int mask;
+  private final Object[] elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  public RingBuffer(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+    }
+    mask = capacity - 1;
+    elements = new Object[capacity];
+    sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Appends an element; safe to call from any thread.
+   *
+   * @return {@code false} if the buffer is full
+   */
+  public boolean offer(E element) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.getAcquire(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements[index] = element;
+          sequences.setRelease(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Takes the next published element; must only be called from the consumer thread.
+   *
+   * @return the element, or {@code null} if none is available
+   */
+  @SuppressWarnings("unchecked")
+  public E poll() {
+    long position = head.getPlain();
+    int index = (int) (position & mask);
+    if (sequences.getAcquire(index) != position + 1) {
+      return null;
+    }
+    E element = (E) elements[index];
+    elements[index] = null;
+    sequences.setRelease(index, position + mask + 1);
+    // Only the consumer writes the head; the release store just publishes it to size()
+    head.setRelease(position + 1);
+    return element;
+  }
+
+  /** Whether the next element is still unpublished; must only be called from the consumer. */
+  public boolean isEmpty() {
+    long position = head.getPlain();
+    return sequences.get((int) (position & mask)) != position + 1;
+  }
+
+  /**
+   * Number of claimed but not yet consumed slots; safe to call from any thread, but only a
+   * snapshot while producers and the consumer are running.
+   */
+  public int size() {
+    long size = tail.get() - head.getAcquire();
+    return (int) Math.max(0, Math.min(size, mask + 1));
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+}
@@ -0,0 +1,200 @@
+package com.trading.engine;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for deadlines with a resolution of one tick. Each of the {@value
+ * #LEVELS} levels has {@value #SLOTS} slots, and a slot of a level spans all the slots of the level
+ * below it. A deadline goes into the finest level whose range covers it. When the wheel reaches a
+ * slot of a coarser level, the deadlines in that slot move down to finer levels. Every deadline
+ * moves at most {@value #LEVELS} times, and scheduling or cancelling a deadline is O(1) whatever
+ * the number of scheduled deadlines. Deadlines beyond the range of the wheel wait in its last level
+ * and are placed again until they come within range.
+ *
+ * <p>Slots are intrusive doubly linked lists of {@link Timeout}s, so the wheel allocates nothing
+ * beyond the timeout of each deadline. Not thread-safe: a wheel is owned by the thread of its
+ * shard, like the books.
+ *
+ * @param <T> value released when its deadline passes
+ */
+public final class TimingWheel<T> {
+
+  static final int SLOT_BITS = 6;
+  static final int SLOTS = 1 << SLOT_BITS;
+  static final int LEVELS = 4;
+
+  private static final long SLOT_MASK = SLOTS - 1;
+  private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+  // Extra list holding the deadlines of the tick being expired
+  private static final int EXPIRING = SLOTS * LEVELS;
+
+  private final long tickMillis;
+  @SuppressWarnings("unchecked")
+  private final Timeout<T>[] slots = new Timeout[SLOTS * LEVELS + 1];
+
+  /** Next tick to process; every tick before it has expired its deadlines. */
+  private long currentTick;
+
+  private int size;
+
+  /**
+   * @param tickMillis resolution of the wheel; deadlines expire up to one tick late, never early
+   * @param startMillis epoch milliseconds the wheel starts at
+   */
+  public TimingWheel(long tickMillis, long startMillis) {
+    if (tickMillis < 1) {
+      throw new IllegalArgumentException("The tick of a timing wheel must be positive");
+    }
+    this.tickMillis = tickMillis;
+    this.currentTick = Math.floorDiv(startMillis, tickMillis);
+  }
+
+  /** Number of scheduled deadlines. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Schedules a value to expire once the wheel is advanced to {@code deadlineMillis} or later. A
+   * deadline that has already passed expires on the next advance.
+   */
+  public Timeout<T> schedule(T value, long deadlineMillis) {
+    // Rounded up so that a deadline never expires before its time
+    Timeout<T> timeout = new Timeout<>(this, value, -Math.floorDiv(-deadlineMillis, tickMillis));
+    place(timeout);
+    size++;
+    return timeout;
+  }
+
+  /**
+   * Processes every tick up to {@code nowMillis} and releases the values whose deadline has
+   * passed, in deadline order to the tick. Values may schedule or cancel other deadlines from the
+   * callback.
+   *
+   * @return the number of values released
+   */
+  public int advance(long nowMillis, Consumer<T> expired) {
+    long targetTick = Math.floorDiv(nowMillis, tickMillis);
+    int released = 0;
+    while (currentTick <= targetTick) {
+      if (size == 0) {
+        // Nothing can be due before a deadline is scheduled again
+        currentTick = targetTick + 1;
+        break;
+      }
+      long tick = currentTick;
+      for (int level = 1; level < LEVELS && isSlotStart(tick, level); level++) {
+        cascade(level, tick);
+      }
+      // Detached first: deadlines scheduled from the callback may land in the same slot of the
+      // next round, and cancellations from the callback must still find their list
+      Timeout<T> due = slots[(int) (tick & SLOT_MASK)];
+      slots[(int) (tick & SLOT_MASK)] = null;
+      for (Timeout<T> timeout = due; timeout != null; timeout = timeout.next) {
+        timeout.slot = EXPIRING;
+      }
+      slots[EXPIRING] = due;
+      currentTick = tick + 1;
+      for (Timeout<T> timeout = slots[EXPIRING]; timeout != null; timeout = slots[EXPIRING]) {
+        unlink(timeout);
+        released++;
+        expired.accept(timeout.value);
+      }
+    }
+    return released;
+  }
+
+  private static boolean isSlotStart(long tick, int level) {
+    return (tick & ((1L << (SLOT_BITS * level)) - 1)) == 0;
+  }
+
+  /** Moves the deadlines of the slot of {@code level} that starts at {@code tick} down. */
+  private void cascade(int level, long tick) {
+    int slot = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    Timeout<T> timeout = slots[slot];
+    slots[slot] = null;
+    while (timeout != null) {
+      Timeout<T> next = timeout.next;
+      timeout.unlinked();
+      place(timeout);
+      timeout = next;
+    }
+  }
+
+  private void place(Timeout<T> timeout) {
+    long delta = timeout.deadlineTick - currentTick;
+    long tick;
+    if (delta < 0) {
+      tick = currentTick;
+    } else if (delta >= RANGE) {
+      // Parked at the far end of the last level and placed again once it is reached
+      tick = currentTick + RANGE - 1;
+    } else {
+      tick = timeout.deadlineTick;
+    }
+    int level = 0;
+    while (level < LEVELS - 1 && Math.max(delta, 0) >= 1L << (SLOT_BITS * (level + 1))) {
+      level++;
+    }
+    int slot = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    Timeout<T> head = slots[slot];
+    timeout.slot = slot;
+    timeout.next = head;
+    if (head != null) {
+      head.previous = timeout;
+    }
+    slots[slot] = timeout;
+  }
+
+  private void unlink(Timeout<T> timeout) {
+    if (timeout.previous != null) {
+      timeout.previous.next = timeout.next;
+    } else {
+      slots[timeout.slot] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.previous = timeout.previous;
+    }
+    timeout.unlinked();
+    size--;
+  }
+
+  /** Deadline scheduled on a {@link TimingWheel}. */
+  public static final class Timeout<T> {
+
+    private final TimingWheel<T> wheel;
+    private final T value;
+    private final long deadlineTick;
+    private Timeout<T> previous;
+    private Timeout<T> next;
+    private int slot = -1;
+
+    private Timeout(TimingWheel<T> wheel, T value, long deadlineTick) {
+      this.wheel = wheel;
+      this.value = value;
+      this.deadlineTick = deadlineTick;
+    }
+
+    public T value() {
+      return value;
+    }
+
+    /** Whether the deadline is still scheduled, neither expired nor cancelled. */
+    public boolean isPending() {
+      return slot >= 0;
+    }
+
+    /** Removes the deadline from its wheel; does nothing once it has expired or been cancelled. */
+    public void cancel() {
+      if (isPending()) {
+        wheel.unlink(this);
+      }
+    }
+
+    private void unlinked() {
+      previous = null;
+      next = null;
+      slot = -1;
+    }
+  }
+}
@@ -9,6 +9,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Group of orders placed together. The status and the leg counters are kept up to date by the
+ * write-behind persister as the legs change, so reading them never loads the legs.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,4 +28,10 @@ public class CompositeOrder {
 
   @Enumerated(EnumType.STRING)
   private CompositeOrderStatus status = CompositeOrderStatus.PENDING;
+
+  private int legCount;
+
+  private int filledLegs;
+
+  private int partiallyFilledLegs;
 }
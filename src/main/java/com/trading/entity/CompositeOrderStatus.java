@@ -4,5 +4,10 @@ public enum CompositeOrderStatus {
   PENDING,
   PARTIALLY_FILLED,
   FILLED,
-  CANCELLED
+  CANCELLED;
+
+  /** Whether the composite order can no longer change. */
+  public boolean isTerminal() {
+    return this == FILLED || this == CANCELLED;
+  }
 }
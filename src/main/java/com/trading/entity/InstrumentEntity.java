@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.util.UUID;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Builder
 @NoArgsConstructor
@@ -11,6 +13,8 @@ import lombok.*;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "instruments")
 public class InstrumentEntity {
 
@@ -22,4 +26,7 @@ public class InstrumentEntity {
   private String symbol;
 
   private BigDecimal marketPrice;
+
+  @Version
+  private long version;
 }
@@ -28,11 +28,21 @@ public class OrderEntity {
   private OrderType type;
 
   private BigDecimal price;
+
+  /** Last trade price at which a stop order is triggered. */
+  private BigDecimal stopPrice;
+
   private int quantity;
   private int remainingQuantity;
   private Instant createdAt;
 
-  @ManyToOne(cascade = CascadeType.ALL)
+  @Enumerated(EnumType.STRING)
+  private TimeInForce timeInForce;
+
+  /** When the engine expires the order if it is still in the book. */
+  private Instant expiresAt;
+
+  @ManyToOne
   @JoinColumn(name = "instrument_id")
   private InstrumentEntity instrument;
 
@@ -42,4 +52,8 @@ public class OrderEntity {
   @ManyToOne
   @JoinColumn(name = "composite_id")
   private CompositeOrder compositeOrder;
+
+  /** Incremented by the matching engine on every change it publishes. */
+  @Version
+  private long version;
 }
@@ -4,5 +4,14 @@ public enum OrderStatus {
   OPEN,
   FILLED,
   CANCELLED,
-  PARTIALLY_FILLED
+  PARTIALLY_FILLED,
+  /** Stop order waiting for the last trade price to reach its stop price. */
+  AWAITING_TRIGGER,
+  /** Removed from the book at the end of its time in force. */
+  EXPIRED;
+
+  /** Whether the order can no longer change. */
+  public boolean isTerminal() {
+    return this == FILLED || this == CANCELLED || this == EXPIRED;
+  }
 }
@@ -1,6 +1,29 @@
 package com.trading.entity;
 
+/**
+ * How an order takes liquidity and whether its remainder rests in the book. Constants are stored
+ * by ordinal in the journal, so new ones must only be appended.
+ */
 public enum OrderType {
-  MARKET, // No price required
-  LIMIT // Price required
+  MARKET, // No price required; the unfilled remainder is cancelled
+  LIMIT, // Price required; the unfilled remainder rests in the book
+  IMMEDIATE_OR_CANCEL, // Price required; the unfilled remainder is cancelled
+  FILL_OR_KILL, // Price required; filled completely at once or cancelled without any fill
+  STOP, // Stop price required; becomes a market order once triggered
+  STOP_LIMIT; // Price and stop price required; becomes a limit order once triggered
+
+  /** Whether the order carries a limit price. */
+  public boolean isPriced() {
+    return this != MARKET && this != STOP;
+  }
+
+  /** Whether the order waits for the last trade price to reach its stop price before matching. */
+  public boolean isStop() {
+    return this == STOP || this == STOP_LIMIT;
+  }
+
+  /** Whether the unfilled remainder of the order rests in the book after matching. */
+  public boolean rests() {
+    return this == LIMIT || this == STOP_LIMIT;
+  }
 }
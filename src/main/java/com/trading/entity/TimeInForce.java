@@ -0,0 +1,11 @@
+package com.trading.entity;
+
+/**
+ * How long an order stays in the book. Constants are stored by ordinal in the journal, so new ones
+ * must only be appended.
+ */
+public enum TimeInForce {
+  GOOD_TILL_CANCELLED, // Stays until filled or cancelled
+  GOOD_TILL_DATE, // Expiry time required; expires at that time
+  DAY // Expires at the close of the trading day it was accepted on
+}
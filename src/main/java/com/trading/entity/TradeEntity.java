@@ -1,29 +1,37 @@
 package com.trading.entity;
 
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+/**
+ * Trade written by the write-behind persister. The orders are referenced by id only: they may
+ * have been moved to {@code order_history} by the archival job.
+ */
 @Getter
 @Setter
 @Entity
 @Table(name = "trades")
+@IdClass(TradeEntity.Key.class)
 public class TradeEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
   private UUID id;
 
-  @ManyToOne
-  @JoinColumn(name = "buy_order_id")
-  private OrderEntity buyOrder;
+  /** Part of the primary key, since {@code trades} is partitioned by it. */
+  @Id
+  private Instant timestamp;
 
-  @ManyToOne
-  @JoinColumn(name = "sell_order_id")
-  private OrderEntity sellOrder;
+  private UUID buyOrderId;
+
+  private UUID sellOrderId;
 
   @ManyToOne
   @JoinColumn(name = "instrument_id")
@@ -31,5 +39,14 @@ public class TradeEntity {
 
   private BigDecimal price;
   private int quantity;
-  private Instant timestamp;
+
+  /** Primary key of a trade. */
+  @Getter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private UUID id;
+    private Instant timestamp;
+  }
 }
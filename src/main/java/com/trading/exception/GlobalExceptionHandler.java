@@ -2,11 +2,16 @@ package com.trading.exception;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -21,6 +26,44 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
+  @ExceptionHandler(InvalidPriceException.class)
+  public ResponseEntity<String> handleInvalidPrice(InvalidPriceException ex) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(RiskLimitException.class)
+  public ResponseEntity<String> handleRiskLimit(RiskLimitException ex) {
+    return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(MisdirectedRequestException.class)
+  public ResponseEntity<String> handleMisdirectedRequest(MisdirectedRequestException ex) {
+    return ResponseEntity.status(MisdirectedRequestException.STATUS).body(ex.getMessage());
+  }
+
+  /** Relays the error response of the node a request was forwarded to. */
+  @ExceptionHandler(RestClientResponseException.class)
+  public ResponseEntity<String> handleForwardedError(RestClientResponseException ex) {
+    return ResponseEntity.status(ex.getStatusCode())
+        .contentType(
+            Optional.ofNullable(ex.getResponseHeaders())
+                .map(HttpHeaders::getContentType)
+                .orElse(MediaType.TEXT_PLAIN))
+        .body(ex.getResponseBodyAsString());
+  }
+
+  @ExceptionHandler(ResourceAccessException.class)
+  public ResponseEntity<String> handleUnreachableNode(ResourceAccessException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(TooManySubscribersException.class)
+  public ResponseEntity<String> handleTooManySubscribers(TooManySubscribersException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(ex.getMessage());
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String, String>> handleValidationExceptions(
       MethodArgumentNotValidException ex) {
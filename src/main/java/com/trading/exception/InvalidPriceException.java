@@ -0,0 +1,15 @@
+package com.trading.exception;
+
+import java.math.BigDecimal;
+
+public class InvalidPriceException extends RuntimeException {
+  public InvalidPriceException(String symbol, BigDecimal price, BigDecimal tickSize) {
+    super(
+        "Price "
+            + price.toPlainString()
+            + " is not a multiple of the tick size "
+            + tickSize.toPlainString()
+            + " of "
+            + symbol);
+  }
+}
@@ -0,0 +1,19 @@
+package com.trading.exception;
+
+/** A forwarded request reached a node that does not own its instrument either. */
+public class MisdirectedRequestException extends RuntimeException {
+
+  /** HTTP 421 Misdirected Request. */
+  public static final int STATUS = 421;
+
+  public MisdirectedRequestException(String symbol, String nodeId, String ownerId) {
+    super(
+        "Instrument "
+            + symbol
+            + " is owned by node "
+            + ownerId
+            + " according to node "
+            + nodeId
+            + ", which does not forward requests twice");
+  }
+}
@@ -0,0 +1,8 @@
+package com.trading.exception;
+
+/** A new order would breach a pre-trade risk limit. */
+public class RiskLimitException extends RuntimeException {
+  public RiskLimitException(String message) {
+    super(message);
+  }
+}
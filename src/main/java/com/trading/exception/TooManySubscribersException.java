@@ -0,0 +1,17 @@
+package com.trading.exception;
+
+/** The streaming feed already serves as many subscribers as it accepts. */
+public class TooManySubscribersException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public TooManySubscribersException(int maxSubscribers, long retryAfterSeconds) {
+    super("The feed already has " + maxSubscribers + " subscribers, the maximum");
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** Suggested wait before subscribing again. */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
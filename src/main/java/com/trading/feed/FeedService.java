@@ -0,0 +1,79 @@
+package com.trading.feed;
+
+import com.trading.config.FeedProperties;
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEventListener;
+import com.trading.exception.TooManySubscribersException;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes trades and order status changes to feed subscribers, filtered by trader and instrument.
+ * Matching threads only append to the buffer of each interested {@link FeedSubscriber}; delivery
+ * runs on one virtual thread per busy subscriber.
+ *
+ * <p>Registered after the persister and the journal. Events are pushed as soon as they are matched,
+ * so a subscriber may hear about a fill before the order call that caused it returns.
+ */
+@Order(2)
+@Component
+public class FeedService implements EngineEventListener {
+
+  // Subscribers are long-lived, so a slot frees up at the pace of reconnects
+  private static final long RETRY_AFTER_SECONDS = 5;
+
+  private final FeedProperties properties;
+  private final List<FeedSubscriber> subscribers = new CopyOnWriteArrayList<>();
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feed-", 0).factory());
+
+  public FeedService(FeedProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public void onEvent(EngineEvent event) {
+    for (FeedSubscriber subscriber : subscribers) {
+      if (subscriber.matches(event)) {
+        subscriber.offer(event);
+      }
+    }
+  }
+
+  /**
+   * Registers a subscriber.
+   *
+   * @param traderId only events of this trader, or all traders when {@code null}
+   * @param symbol only events of this instrument, or all instruments when {@code null}
+   * @return unsubscribes; to be called once the connection is closed
+   * @throws TooManySubscribersException if {@code trading.feed.max-subscribers} are subscribed
+   */
+  public Runnable subscribe(String traderId, String symbol, FeedSink sink) {
+    if (subscribers.size() >= properties.maxSubscribers()) {
+      throw new TooManySubscribersException(properties.maxSubscribers(), RETRY_AFTER_SECONDS);
+    }
+    FeedSubscriber subscriber =
+        new FeedSubscriber(traderId, symbol, properties.bufferSize(), sink, executor);
+    subscribers.add(subscriber);
+    return () -> {
+      subscriber.close();
+      subscribers.remove(subscriber);
+    };
+  }
+
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  @PreDestroy
+  void close() {
+    subscribers.forEach(FeedSubscriber::close);
+    subscribers.clear();
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,13 @@
+package com.trading.feed;
+
+import com.trading.dto.FeedMessage;
+import java.io.IOException;
+
+/** Transport of a feed connection. Called from a single drain task at a time. */
+public interface FeedSink {
+
+  void send(FeedMessage message) throws IOException;
+
+  /** The connection is broken and the subscriber has been closed. */
+  void fail(Exception cause);
+}
@@ -0,0 +1,130 @@
+package com.trading.feed;
+
+import com.trading.dto.FeedMessage;
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * One feed connection. Matching threads only add events to a bounded buffer; a separate task
+ * drains it into the {@link FeedSink}, so a slow client never holds up matching.
+ *
+ * <p>Order events are conflated: a newer state of an order replaces the pending one and moves to
+ * the end of the buffer. When the buffer is full, the oldest pending event is dropped, and the
+ * client is told how many events it missed with a {@link FeedMessage.Gap} before the next batch.
+ */
+class FeedSubscriber {
+
+  private final String traderId;
+  private final String symbol;
+  private final int capacity;
+  private final FeedSink sink;
+  private final Executor executor;
+  private final LinkedHashMap<UUID, EngineEvent> pending = new LinkedHashMap<>();
+  private long dropped;
+  private boolean draining;
+  private boolean closed;
+
+  /**
+   * @param traderId only events of this trader, or all traders when {@code null}
+   * @param symbol only events of this instrument, or all instruments when {@code null}
+   */
+  FeedSubscriber(String traderId, String symbol, int capacity, FeedSink sink, Executor executor) {
+    this.traderId = traderId;
+    this.symbol = symbol;
+    this.capacity = capacity;
+    this.sink = sink;
+    this.executor = executor;
+  }
+
+  boolean matches(EngineEvent event) {
+    if (symbol != null && !symbol.equals(event.symbol())) {
+      return false;
+    }
+    if (traderId == null) {
+      return true;
+    }
+    return switch (event) {
+      case OrderAccepted accepted -> traderId.equals(accepted.traderId());
+      case OrderUpdated updated -> traderId.equals(updated.traderId());
+      case TradeExecuted trade ->
+          traderId.equals(trade.buyTraderId()) || traderId.equals(trade.sellTraderId());
+    };
+  }
+
+  /** Buffers the event without blocking; called from matching threads. */
+  void offer(EngineEvent event) {
+    UUID key = keyOf(event);
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (pending.remove(key) == null && pending.size() >= capacity) {
+        Iterator<EngineEvent> oldest = pending.values().iterator();
+        oldest.next();
+        oldest.remove();
+        dropped++;
+      }
+      pending.put(key, event);
+      if (draining) {
+        return;
+      }
+      draining = true;
+    }
+    executor.execute(this::drain);
+  }
+
+  synchronized void close() {
+    closed = true;
+    pending.clear();
+  }
+
+  synchronized boolean isClosed() {
+    return closed;
+  }
+
+  private void drain() {
+    while (true) {
+      List<EngineEvent> batch;
+      long missed;
+      synchronized (this) {
+        if (closed || pending.isEmpty()) {
+          draining = false;
+          return;
+        }
+        batch = new ArrayList<>(pending.values());
+        pending.clear();
+        missed = dropped;
+        dropped = 0;
+      }
+      try {
+        if (missed > 0) {
+          sink.send(new FeedMessage.Gap(missed));
+        }
+        for (EngineEvent event : batch) {
+          sink.send(FeedMessage.of(event));
+        }
+      } catch (IOException | RuntimeException e) {
+        close();
+        sink.fail(e);
+        return;
+      }
+    }
+  }
+
+  private static UUID keyOf(EngineEvent event) {
+    return switch (event) {
+      case OrderAccepted accepted -> accepted.orderId();
+      case OrderUpdated updated -> updated.orderId();
+      case TradeExecuted trade -> trade.tradeId();
+    };
+  }
+}
@@ -0,0 +1,266 @@
+package com.trading.journal;
+
+import com.trading.engine.EngineEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only event journal written to memory-mapped segment files.
+ *
+ * <p>Each record is {@code [int length][int crc32c][body]}, where the body is a {@link
+ * JournalCodec} encoded event. Segments are pre-sized and zero-filled, so a zero length marks the
+ * end of the written data; a record whose checksum does not match is treated as a torn write and
+ * ends the replay.
+ *
+ * <p>Appends only copy bytes into the mapping. A background thread forces the mapping to disk in
+ * group commits: every {@link #sync()} request waiting when a force starts is completed by it, and
+ * dirty data is forced at least once per sync interval even without requests.
+ */
+public class EventJournal implements AutoCloseable {
+
+  static final int MAX_RECORD_SIZE = 256 * 1024;
+
+  private static final String SEGMENT_PREFIX = "journal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final int HEADER_SIZE = 8;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final long syncIntervalNanos;
+  private final Consumer<Path> rolloverListener;
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private final ThreadLocal<ByteBuffer> scratch =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocate(MAX_RECORD_SIZE));
+  private final Object syncMonitor = new Object();
+  private final List<CompletableFuture<Void>> syncRequests = new ArrayList<>();
+  private final Thread syncer;
+  private long nextSegmentIndex;
+  private volatile Segment current;
+  private volatile boolean dirty;
+  private volatile boolean running;
+
+  /**
+   * @param rolloverListener notified with the path of every segment that has been completed and
+   *     forced, so that it can be retired once its events are stored elsewhere
+   */
+  public EventJournal(
+      Path directory, int segmentSize, Duration syncInterval, Consumer<Path> rolloverListener)
+      throws IOException {
+    if (segmentSize < 2 * MAX_RECORD_SIZE) {
+      throw new IllegalArgumentException("Journal segments must hold at least two records");
+    }
+    this.directory = Files.createDirectories(directory);
+    this.segmentSize = segmentSize;
+    this.syncIntervalNanos = syncInterval.toNanos();
+    this.rolloverListener = rolloverListener;
+    this.nextSegmentIndex =
+        segments().stream().mapToLong(EventJournal::indexOf).max().orElse(-1) + 1;
+    this.syncer = new Thread(this::runSyncer, "journal-sync");
+    this.syncer.setDaemon(true);
+  }
+
+  /** Existing segment files, oldest first. */
+  public List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+          .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted((a, b) -> Long.compare(indexOf(a), indexOf(b)))
+          .toList();
+    }
+  }
+
+  /**
+   * Reads every event of the existing segments in append order.
+   *
+   * @return the number of events replayed
+   */
+  public long replay(Consumer<EngineEvent> consumer) throws IOException {
+    long events = 0;
+    CRC32C crc = new CRC32C();
+    for (Path segment : segments()) {
+      try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        while (buffer.remaining() >= HEADER_SIZE) {
+          int length = buffer.getInt();
+          int checksum = buffer.getInt();
+          if (length <= 0 || length > buffer.remaining()) {
+            break;
+          }
+          ByteBuffer body = buffer.slice(buffer.position(), length);
+          crc.reset();
+          crc.update(body.duplicate());
+          if ((int) crc.getValue() != checksum) {
+            break;
+          }
+          consumer.accept(JournalCodec.decode(body));
+          buffer.position(buffer.position() + length);
+          events++;
+        }
+      }
+    }
+    return events;
+  }
+
+  /** Opens a fresh segment after the existing ones and starts the sync thread. */
+  public void start() {
+    current = openSegment(nextSegmentIndex++);
+    running = true;
+    syncer.start();
+  }
+
+  public void append(EngineEvent event) {
+    ByteBuffer record = scratch.get().clear();
+    record.position(HEADER_SIZE);
+    JournalCodec.encode(event, record);
+    int length = record.position() - HEADER_SIZE;
+    CRC32C crc = new CRC32C();
+    crc.update(record.array(), HEADER_SIZE, length);
+    record.putInt(0, length).putInt(4, (int) crc.getValue()).flip();
+
+    appendLock.lock();
+    try {
+      Segment segment = current;
+      if (segment.buffer().remaining() < record.remaining()) {
+        segment = roll();
+      }
+      segment.buffer().put(record);
+      dirty = true;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Requests a group commit.
+   *
+   * @return a future completing once every event appended before this call is on disk
+   */
+  public CompletableFuture<Void> sync() {
+    CompletableFuture<Void> request = new CompletableFuture<>();
+    synchronized (syncMonitor) {
+      syncRequests.add(request);
+      syncMonitor.notifyAll();
+    }
+    return request;
+  }
+
+  public void delete(Path segment) {
+    try {
+      Files.deleteIfExists(segment);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Segment roll() {
+    Segment completed = current;
+    completed.buffer().force();
+    closeQuietly(completed);
+    current = openSegment(nextSegmentIndex++);
+    rolloverListener.accept(completed.path());
+    return current;
+  }
+
+  private Segment openSegment(long index) {
+    Path path = directory.resolve("%s%020d%s".formatted(SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    try {
+      FileChannel channel =
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+      return new Segment(path, channel, buffer);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create journal segment " + path, e);
+    }
+  }
+
+  private void runSyncer() {
+    List<CompletableFuture<Void>> batch = new ArrayList<>();
+    while (running) {
+      synchronized (syncMonitor) {
+        if (syncRequests.isEmpty()) {
+          try {
+            TimeUnit.NANOSECONDS.timedWait(syncMonitor, syncIntervalNanos);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+        batch.addAll(syncRequests);
+        syncRequests.clear();
+      }
+      if (batch.isEmpty() && !dirty) {
+        continue;
+      }
+      try {
+        dirty = false;
+        current.buffer().force();
+        batch.forEach(request -> request.complete(null));
+      } catch (RuntimeException e) {
+        batch.forEach(request -> request.completeExceptionally(e));
+      }
+      batch.clear();
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    synchronized (syncMonitor) {
+      syncMonitor.notifyAll();
+    }
+    try {
+      syncer.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    appendLock.lock();
+    try {
+      if (current != null) {
+        current.buffer().force();
+        closeQuietly(current);
+      }
+    } finally {
+      appendLock.unlock();
+    }
+    synchronized (syncMonitor) {
+      syncRequests.forEach(request -> request.complete(null));
+      syncRequests.clear();
+    }
+  }
+
+  private static long indexOf(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(
+        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  private static void closeQuietly(Segment segment) {
+    try {
+      segment.channel().close();
+    } catch (IOException ignored) {
+      // The mapping stays valid after the channel is closed
+    }
+  }
+
+  private record Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {}
+}
@@ -0,0 +1,195 @@
+package com.trading.journal;
+
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link EngineEvent}s: a one byte type tag followed by fixed-width
+ * fields. Enums are stored by ordinal, so new constants must only ever be appended.
+ */
+final class JournalCodec {
+
+  private static final byte ORDER_ACCEPTED = 1;
+  private static final byte ORDER_UPDATED = 2;
+  private static final byte TRADE_EXECUTED = 3;
+
+  private static final OrderDirection[] DIRECTIONS = OrderDirection.values();
+  private static final OrderType[] TYPES = OrderType.values();
+  private static final OrderStatus[] STATUSES = OrderStatus.values();
+  private static final TimeInForce[] TIMES_IN_FORCE = TimeInForce.values();
+
+  private JournalCodec() {}
+
+  static void encode(EngineEvent event, ByteBuffer out) {
+    switch (event) {
+      case OrderAccepted accepted -> {
+        out.put(ORDER_ACCEPTED);
+        putUuid(out, accepted.orderId());
+        putString(out, accepted.traderId());
+        putUuid(out, accepted.instrumentId());
+        putString(out, accepted.symbol());
+        out.put((byte) accepted.direction().ordinal());
+        out.put((byte) accepted.type().ordinal());
+        putDecimal(out, accepted.price());
+        putDecimal(out, accepted.stopPrice());
+        out.put((byte) accepted.timeInForce().ordinal());
+        putOptionalInstant(out, accepted.expiresAt());
+        out.putInt(accepted.quantity());
+        out.putInt(accepted.remainingQuantity());
+        out.put((byte) accepted.status().ordinal());
+        putInstant(out, accepted.createdAt());
+        putUuid(out, accepted.compositeId());
+        out.putLong(accepted.version());
+      }
+      case OrderUpdated updated -> {
+        out.put(ORDER_UPDATED);
+        putUuid(out, updated.orderId());
+        putString(out, updated.traderId());
+        putString(out, updated.symbol());
+        out.putInt(updated.remainingQuantity());
+        out.put((byte) updated.status().ordinal());
+        putUuid(out, updated.compositeId());
+        out.putLong(updated.version());
+      }
+      case TradeExecuted trade -> {
+        out.put(TRADE_EXECUTED);
+        putUuid(out, trade.tradeId());
+        putUuid(out, trade.instrumentId());
+        putString(out, trade.symbol());
+        putUuid(out, trade.buyOrderId());
+        putString(out, trade.buyTraderId());
+        putUuid(out, trade.sellOrderId());
+        putString(out, trade.sellTraderId());
+        putDecimal(out, trade.price());
+        out.putInt(trade.quantity());
+        putInstant(out, trade.timestamp());
+      }
+    }
+  }
+
+  static EngineEvent decode(ByteBuffer in) {
+    byte type = in.get();
+    return switch (type) {
+      case ORDER_ACCEPTED ->
+          new OrderAccepted(
+              getUuid(in),
+              getString(in),
+              getUuid(in),
+              getString(in),
+              DIRECTIONS[in.get()],
+              TYPES[in.get()],
+              getDecimal(in),
+              getDecimal(in),
+              TIMES_IN_FORCE[in.get()],
+              getOptionalInstant(in),
+              in.getInt(),
+              in.getInt(),
+              STATUSES[in.get()],
+              getInstant(in),
+              getUuid(in),
+              in.getLong());
+      case ORDER_UPDATED ->
+          new OrderUpdated(
+              getUuid(in),
+              getString(in),
+              getString(in),
+              in.getInt(),
+              STATUSES[in.get()],
+              getUuid(in),
+              in.getLong());
+      case TRADE_EXECUTED ->
+          new TradeExecuted(
+              getUuid(in),
+              getUuid(in),
+              getString(in),
+              getUuid(in),
+              getString(in),
+              getUuid(in),
+              getString(in),
+              getDecimal(in),
+              in.getInt(),
+              getInstant(in));
+      default -> throw new IllegalArgumentException("Unknown journal record type " + type);
+    };
+  }
+
+  private static void putUuid(ByteBuffer out, UUID value) {
+    if (value == null) {
+      out.put((byte) 0);
+    } else {
+      out.put((byte) 1);
+      out.putLong(value.getMostSignificantBits());
+      out.putLong(value.getLeastSignificantBits());
+    }
+  }
+
+  private static UUID getUuid(ByteBuffer in) {
+    return in.get() == 0 ? null : new UUID(in.getLong(), in.getLong());
+  }
+
+  private static void putString(ByteBuffer out, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > 0xFFFF) {
+      throw new IllegalArgumentException("String too long for the journal: " + bytes.length);
+    }
+    out.putShort((short) bytes.length);
+    out.put(bytes);
+  }
+
+  private static String getString(ByteBuffer in) {
+    byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void putDecimal(ByteBuffer out, BigDecimal value) {
+    if (value == null) {
+      out.put((byte) 0);
+    } else {
+      out.put((byte) 1);
+      out.putInt(value.scale());
+      out.putLong(value.unscaledValue().longValueExact());
+    }
+  }
+
+  private static BigDecimal getDecimal(ByteBuffer in) {
+    if (in.get() == 0) {
+      return null;
+    }
+    int scale = in.getInt();
+    return BigDecimal.valueOf(in.getLong(), scale);
+  }
+
+  private static void putInstant(ByteBuffer out, Instant value) {
+    out.putLong(value.getEpochSecond());
+    out.putInt(value.getNano());
+  }
+
+  private static Instant getInstant(ByteBuffer in) {
+    return Instant.ofEpochSecond(in.getLong(), in.getInt());
+  }
+
+  private static void putOptionalInstant(ByteBuffer out, Instant value) {
+    if (value == null) {
+      out.put((byte) 0);
+    } else {
+      out.put((byte) 1);
+      putInstant(out, value);
+    }
+  }
+
+  private static Instant getOptionalInstant(ByteBuffer in) {
+    return in.get() == 0 ? null : getInstant(in);
+  }
+}
@@ -0,0 +1,84 @@
+package com.trading.journal;
+
+import com.trading.config.JournalProperties;
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEventListener;
+import com.trading.persistence.WriteBehindPersister;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Journals engine events when {@code trading.journal.enabled} is set. On startup the segments left
+ * by the previous run are replayed through the {@link WriteBehindPersister}, whose writes are
+ * idempotent, so the {@code orders}, {@code trades} and {@code instruments} tables catch up with
+ * every journaled event before the books are rebuilt from them.
+ *
+ * <p>Registered after the persister, so any event found in a completed segment has already been
+ * queued for the database when the segment is retired behind a persistence barrier.
+ */
+@Slf4j
+@Order(1)
+@Component
+@RequiredArgsConstructor
+public class JournalService implements EngineEventListener {
+
+  private final JournalProperties properties;
+  private final WriteBehindPersister persister;
+  private EventJournal journal;
+
+  @PostConstruct
+  void recover() throws IOException {
+    if (!properties.enabled()) {
+      return;
+    }
+    EventJournal recovered =
+        new EventJournal(
+            Path.of(properties.directory()),
+            (int) properties.segmentSize().toBytes(),
+            properties.syncInterval(),
+            this::retire);
+    List<Path> segments = recovered.segments();
+    long events = recovered.replay(persister::onEvent);
+    persister.barrier().join();
+    segments.forEach(recovered::delete);
+    log.info("Replayed {} journaled events from {} segments", events, segments.size());
+
+    recovered.start();
+    journal = recovered;
+  }
+
+  @PreDestroy
+  void close() {
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+  public boolean isEnabled() {
+    return journal != null;
+  }
+
+  @Override
+  public void onEvent(EngineEvent event) {
+    if (journal != null) {
+      journal.append(event);
+    }
+  }
+
+  /** Group commit of everything journaled so far; completes immediately when disabled. */
+  public CompletableFuture<Void> sync() {
+    return journal == null ? CompletableFuture.completedFuture(null) : journal.sync();
+  }
+
+  private void retire(Path segment) {
+    persister.barrier().thenRun(() -> journal.delete(segment));
+  }
+}
@@ -0,0 +1,207 @@
+package com.trading.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.trading.dto.OrderRequest;
+import com.trading.dto.OrderResponse;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import org.springframework.boot.jackson.JsonComponent;
+
+/**
+ * Hand-written JSON mapping of the order DTOs, which are read and written on every order request.
+ * Fields are accessed directly instead of through Jackson's reflective record support, and field
+ * names and enum constants are encoded once. The JSON itself is unchanged.
+ */
+@JsonComponent
+public class OrderJson {
+
+  public static class ResponseSerializer extends JsonSerializer<OrderResponse> {
+
+    private static final SerializedString ORDER_ID = new SerializedString("orderId");
+    private static final SerializedString TRADER_ID = new SerializedString("traderId");
+    private static final SerializedString INSTRUMENT_SYMBOL =
+        new SerializedString("instrumentSymbol");
+    private static final SerializedString DIRECTION = new SerializedString("direction");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString STOP_PRICE = new SerializedString("stopPrice");
+    private static final SerializedString TIME_IN_FORCE = new SerializedString("timeInForce");
+    private static final SerializedString EXPIRES_AT = new SerializedString("expiresAt");
+
+    private static final SerializedString[] DIRECTIONS = encode(OrderDirection.values());
+    private static final SerializedString[] TYPES = encode(OrderType.values());
+    private static final SerializedString[] STATUSES = encode(OrderStatus.values());
+    private static final SerializedString[] TIMES_IN_FORCE = encode(TimeInForce.values());
+
+    @Override
+    public void serialize(OrderResponse response, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      gen.writeStartObject(response);
+      gen.writeFieldName(ORDER_ID);
+      // Jackson's serializer writes the id from its bits, without an intermediate string
+      provider.defaultSerializeValue(response.orderId(), gen);
+      gen.writeFieldName(TRADER_ID);
+      gen.writeString(response.traderId());
+      gen.writeFieldName(INSTRUMENT_SYMBOL);
+      gen.writeString(response.instrumentSymbol());
+      writeEnum(gen, DIRECTION, DIRECTIONS, response.direction());
+      writeEnum(gen, TYPE, TYPES, response.type());
+      gen.writeFieldName(QUANTITY);
+      gen.writeNumber(response.quantity());
+      writeDecimal(gen, PRICE, response.price());
+      writeEnum(gen, STATUS, STATUSES, response.status());
+      gen.writeFieldName(CREATED_AT);
+      // Left to the configured serializer, which decides between ISO-8601 and epoch timestamps
+      provider.defaultSerializeValue(response.createdAt(), gen);
+      writeDecimal(gen, STOP_PRICE, response.stopPrice());
+      writeEnum(gen, TIME_IN_FORCE, TIMES_IN_FORCE, response.timeInForce());
+      gen.writeFieldName(EXPIRES_AT);
+      provider.defaultSerializeValue(response.expiresAt(), gen);
+      gen.writeEndObject();
+    }
+
+    private static void writeDecimal(JsonGenerator gen, SerializedString name, BigDecimal value)
+        throws IOException {
+      gen.writeFieldName(name);
+      if (value != null) {
+        gen.writeNumber(value);
+      } else {
+        gen.writeNull();
+      }
+    }
+
+    private static void writeEnum(
+        JsonGenerator gen, SerializedString name, SerializedString[] constants, Enum<?> value)
+        throws IOException {
+      gen.writeFieldName(name);
+      if (value != null) {
+        gen.writeString(constants[value.ordinal()]);
+      } else {
+        gen.writeNull();
+      }
+    }
+
+    private static SerializedString[] encode(Enum<?>[] constants) {
+      SerializedString[] encoded = new SerializedString[constants.length];
+      for (Enum<?> constant : constants) {
+        encoded[constant.ordinal()] = new SerializedString(constant.name());
+      }
+      return encoded;
+    }
+  }
+
+  /**
+   * Reads the values of the expected tokens directly and leaves any other token to the regular
+   * deserializer of the field type, so coercions and error messages stay those of Jackson.
+   */
+  public static class RequestDeserializer extends JsonDeserializer<OrderRequest> {
+
+    @Override
+    public OrderRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      if (!p.isExpectedStartObjectToken()) {
+        return (OrderRequest) ctxt.handleUnexpectedToken(OrderRequest.class, p);
+      }
+      String traderId = null;
+      String instrumentSymbol = null;
+      OrderDirection direction = null;
+      OrderType type = null;
+      Integer quantity = null;
+      BigDecimal price = null;
+      BigDecimal stopPrice = null;
+      TimeInForce timeInForce = null;
+      Instant expiresAt = null;
+      // Field names come from the parser's symbol table, so they are not allocated per request
+      for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+        JsonToken token = p.nextToken();
+        switch (field) {
+          case "traderId" -> traderId = readString(p, ctxt, token);
+          case "instrumentSymbol" -> instrumentSymbol = readString(p, ctxt, token);
+          case "direction" -> direction = readEnum(p, ctxt, token, OrderDirection.class);
+          case "type" -> type = readEnum(p, ctxt, token, OrderType.class);
+          case "quantity" ->
+              quantity =
+                  switch (token) {
+                    case VALUE_NULL -> null;
+                    case VALUE_NUMBER_INT -> p.getIntValue();
+                    default -> ctxt.readValue(p, Integer.class);
+                  };
+          case "price" -> price = readDecimal(p, ctxt, token);
+          case "stopPrice" -> stopPrice = readDecimal(p, ctxt, token);
+          case "timeInForce" -> timeInForce = readEnum(p, ctxt, token, TimeInForce.class);
+          case "expiresAt" ->
+              expiresAt = token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, Instant.class);
+          default -> ctxt.handleUnknownProperty(p, this, OrderRequest.class, field);
+        }
+      }
+      try {
+        return new OrderRequest(
+            traderId,
+            instrumentSymbol,
+            direction,
+            type,
+            quantity,
+            price,
+            stopPrice,
+            timeInForce,
+            expiresAt);
+      } catch (IllegalArgumentException e) {
+        throw ctxt.instantiationException(OrderRequest.class, e);
+      }
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt, JsonToken token)
+        throws IOException {
+      return switch (token) {
+        case VALUE_NULL -> null;
+        case VALUE_STRING -> p.getText();
+        default -> ctxt.readValue(p, String.class);
+      };
+    }
+
+    private static BigDecimal readDecimal(
+        JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+      return switch (token) {
+        case VALUE_NULL -> null;
+        case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDecimalValue();
+        default -> ctxt.readValue(p, BigDecimal.class);
+      };
+    }
+
+    private static <E extends Enum<E>> E readEnum(
+        JsonParser p, DeserializationContext ctxt, JsonToken token, Class<E> type)
+        throws IOException {
+      if (token == JsonToken.VALUE_NULL) {
+        return null;
+      }
+      if (token != JsonToken.VALUE_STRING) {
+        return ctxt.readValue(p, type);
+      }
+      String name = p.getText();
+      try {
+        return Enum.valueOf(type, name);
+      } catch (IllegalArgumentException e) {
+        throw ctxt.weirdStringException(
+            name,
+            type,
+            "not one of the values accepted for Enum class: "
+                + Arrays.toString(type.getEnumConstants()));
+      }
+    }
+  }
+}
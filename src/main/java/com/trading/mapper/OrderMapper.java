@@ -8,31 +8,41 @@ import java.time.Instant;
 
 public class OrderMapper {
 
-  public static OrderEntity toEntity(OrderRequest request) {
+  /**
+   * @param instrument the cached instrument of {@link OrderRequest#instrumentSymbol()}, shared by
+   *     every order of the symbol
+   */
+  public static OrderEntity toEntity(OrderRequest request, InstrumentEntity instrument) {
     return OrderEntity.builder()
         .traderId(request.traderId())
-        .instrument(InstrumentEntity.builder().symbol(request.instrumentSymbol()).build())
+        .instrument(instrument)
         .direction(request.direction())
         .type(request.type())
         .quantity(request.quantity())
         .price(request.price())
+        .stopPrice(request.stopPrice())
+        .timeInForce(request.timeInForce())
+        .expiresAt(request.expiresAt())
         .createdAt(Instant.now())
         .build();
   }
 
   public static OrderResponse toResponse(OrderEntity entity) {
     return new OrderResponse(
-        entity.getId().toString(),
+        entity.getId(),
         entity.getTraderId(),
         entity.getInstrument().getSymbol(),
         entity.getDirection(),
         entity.getType(),
         switch (entity.getStatus()) {
-          case OPEN, FILLED, CANCELLED -> entity.getQuantity();
+          case OPEN, AWAITING_TRIGGER, FILLED, CANCELLED, EXPIRED -> entity.getQuantity();
           case PARTIALLY_FILLED -> entity.getRemainingQuantity();
         },
         entity.getPrice(),
         entity.getStatus(),
-        entity.getCreatedAt());
+        entity.getCreatedAt(),
+        entity.getStopPrice(),
+        entity.getTimeInForce(),
+        entity.getExpiresAt());
   }
 }
@@ -0,0 +1,142 @@
+package com.trading.metrics;
+
+import com.trading.engine.MatchingShard;
+import com.trading.engine.OrderBook;
+import com.trading.entity.OrderDirection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters of the matching path. Every meter is registered up front and recorded through primitive
+ * values, so recording allocates nothing per order; per-symbol book gauges are registered once,
+ * when the first book of a symbol is created, and read the current book of that symbol.
+ */
+@Component
+public class EngineMetrics {
+
+  private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private final MeterRegistry registry;
+  private final Timer orderLatency;
+  private final Timer matchDuration;
+  private final DistributionSummary fillsPerOrder;
+  private final Counter invalidPriceRejections;
+  private final Counter cancelRejections;
+  private final Counter riskRejections;
+  private final Counter cancellations;
+  private final Counter expirations;
+  private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+
+  public EngineMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    this.orderLatency =
+        Timer.builder("trading.order.latency")
+            .description("Order intake to acknowledgement, including the durability wait")
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(1_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    this.matchDuration =
+        Timer.builder("trading.match.duration")
+            .description("Time spent matching one order on its shard")
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(100))
+            .maximumExpectedValue(Duration.ofSeconds(1))
+            .register(registry);
+    this.fillsPerOrder =
+        DistributionSummary.builder("trading.order.fills")
+            .description("Fills generated by one incoming order")
+            .publishPercentiles(PERCENTILES)
+            .register(registry);
+    this.invalidPriceRejections = rejections("invalid_price");
+    this.cancelRejections = rejections("not_cancellable");
+    this.riskRejections = rejections("risk_limit");
+    this.cancellations =
+        Counter.builder("trading.orders.cancelled")
+            .description("Orders cancelled")
+            .register(registry);
+    this.expirations =
+        Counter.builder("trading.orders.expired")
+            .description("Orders expired at the end of their time in force")
+            .register(registry);
+  }
+
+  /** @param startNanos {@link System#nanoTime()} when the order was received */
+  public void orderAcknowledged(long startNanos) {
+    orderLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void orderMatched(long startNanos, int fills) {
+    matchDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    fillsPerOrder.record(fills);
+  }
+
+  public void orderRejected() {
+    invalidPriceRejections.increment();
+  }
+
+  public void riskRejected() {
+    riskRejections.increment();
+  }
+
+  public void cancelRejected() {
+    cancelRejections.increment();
+  }
+
+  public void orderCancelled() {
+    cancellations.increment();
+  }
+
+  public void ordersExpired(int count) {
+    expirations.increment(count);
+  }
+
+  /** Exposes the intake queue depth of each shard. */
+  public void registerShards(Iterable<MatchingShard> shards) {
+    for (MatchingShard shard : shards) {
+      Gauge.builder("trading.engine.queue.depth", shard, MatchingShard::queueSize)
+          .description("Tasks waiting for a matching shard")
+          .tag("shard", shard.getName())
+          .register(registry);
+    }
+  }
+
+  /** Book listener of the engine; keeps the gauges of a symbol pointed at its current book. */
+  public void bookCreated(OrderBook book) {
+    if (books.put(book.getSymbol(), book) == null) {
+      for (OrderDirection side : OrderDirection.values()) {
+        registerBookGauges(book.getSymbol(), side);
+      }
+    }
+  }
+
+  private void registerBookGauges(String symbol, OrderDirection side) {
+    String sideTag = side.name().toLowerCase(Locale.ROOT);
+    Gauge.builder("trading.book.depth", books, current -> current.get(symbol).depth(side))
+        .description("Orders resting on one side of a book")
+        .tags("symbol", symbol, "side", sideTag)
+        .register(registry);
+    Gauge.builder("trading.book.levels", books, current -> current.get(symbol).levels(side))
+        .description("Price levels on one side of a book")
+        .tags("symbol", symbol, "side", sideTag)
+        .register(registry);
+  }
+
+  private Counter rejections(String reason) {
+    return Counter.builder("trading.orders.rejected")
+        .description("Orders and cancellations rejected by the engine")
+        .tag("reason", reason)
+        .register(registry);
+  }
+}
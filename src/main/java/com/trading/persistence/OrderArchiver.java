@@ -0,0 +1,65 @@
+package com.trading.persistence;
+
+import com.trading.config.ArchiveProperties;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves filled, cancelled and expired orders older than the retention period from {@code orders}
+ * to {@code order_history}, so the table scanned on rebuild and written on every fill only holds
+ * recent orders. Terminal orders never change again, so moving them cannot lose a write; legs of a
+ * composite order stay until the composite itself is complete, since its counters are recounted
+ * from the {@code orders} table.
+ *
+ * <p>Each batch is one statement, and rows locked by a concurrent flush are skipped until the next
+ * run. Inserting into the history is idempotent, so an order written again by a journal replay is
+ * simply archived again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderArchiver {
+
+  private static final String ARCHIVE_ORDERS =
+      "with archived as (delete from orders where id in (select o.id from orders o"
+          + " where o.status in ('FILLED', 'CANCELLED', 'EXPIRED') and o.created_at < ?"
+          + " and (o.composite_id is null or exists (select 1 from composite_order c"
+          + " where c.composite_id = o.composite_id and c.status in ('FILLED', 'CANCELLED')))"
+          + " limit ? for update skip locked) returning *)"
+          + " insert into order_history (id, trader_id, instrument_id, direction, type, price,"
+          + " stop_price, time_in_force, expires_at, quantity, remaining_quantity, status,"
+          + " created_at, composite_id, version, archived_at)"
+          + " select id, trader_id, instrument_id, direction, type, price, stop_price,"
+          + " time_in_force, expires_at, quantity, remaining_quantity, status, created_at,"
+          + " composite_id, version, now() from archived"
+          + " on conflict (id) do nothing";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ArchiveProperties properties;
+
+  /** @return the number of orders moved to the history */
+  @Scheduled(
+      initialDelayString = "${trading.archive.interval:1m}",
+      fixedDelayString = "${trading.archive.interval:1m}")
+  public int archiveOrders() {
+    if (!properties.enabled()) {
+      return 0;
+    }
+    OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(properties.orderRetention());
+    int archived = 0;
+    int batch;
+    do {
+      batch = jdbcTemplate.update(ARCHIVE_ORDERS, cutoff, properties.batchSize());
+      archived += batch;
+    } while (batch == properties.batchSize());
+    if (archived > 0) {
+      log.info("Archived {} orders created before {}", archived, cutoff);
+    }
+    return archived;
+  }
+}
@@ -0,0 +1,96 @@
+package com.trading.persistence;
+
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes accumulated for the next flush. Successive changes of the same order collapse into one
+ * row, only the last trade price of each instrument is kept, and each composite order whose legs
+ * changed is refreshed once.
+ */
+class PendingWrites {
+
+  final Map<UUID, OrderAccepted> insertedOrders = new LinkedHashMap<>();
+  final Map<UUID, OrderUpdated> updatedOrders = new LinkedHashMap<>();
+  final List<TradeExecuted> trades = new ArrayList<>();
+  final Map<UUID, BigDecimal> marketPrices = new LinkedHashMap<>();
+  final Map<UUID, Integer> legCounts = new LinkedHashMap<>();
+  final Set<UUID> composites = new LinkedHashSet<>();
+  final List<CompletableFuture<Void>> barriers = new ArrayList<>();
+  private int events;
+
+  void add(EngineEvent event) {
+    events++;
+    switch (event) {
+      case OrderAccepted accepted -> {
+        insertedOrders.put(accepted.orderId(), accepted);
+        addComposite(accepted.compositeId());
+      }
+      case OrderUpdated updated -> {
+        addComposite(updated.compositeId());
+        OrderAccepted inserted = insertedOrders.get(updated.orderId());
+        if (inserted != null) {
+          insertedOrders.put(
+              updated.orderId(),
+              inserted.withState(updated.remainingQuantity(), updated.status(), updated.version()));
+        } else {
+          updatedOrders.put(updated.orderId(), updated);
+        }
+      }
+      case TradeExecuted trade -> {
+        trades.add(trade);
+        marketPrices.put(trade.instrumentId(), trade.price());
+      }
+    }
+  }
+
+  private void addComposite(UUID compositeId) {
+    if (compositeId != null) {
+      composites.add(compositeId);
+    }
+  }
+
+  void setLegCount(UUID compositeId, int legCount) {
+    legCounts.put(compositeId, legCount);
+    composites.add(compositeId);
+  }
+
+  void addBarrier(CompletableFuture<Void> barrier) {
+    barriers.add(barrier);
+  }
+
+  int size() {
+    return events;
+  }
+
+  boolean isEmpty() {
+    return events == 0 && barriers.isEmpty() && legCounts.isEmpty();
+  }
+
+  void complete(Throwable failure) {
+    for (CompletableFuture<Void> barrier : barriers) {
+      if (failure == null) {
+        barrier.complete(null);
+      } else {
+        barrier.completeExceptionally(failure);
+      }
+    }
+  }
+
+  /** Fails the barriers waiting for these writes, which stay pending for the next attempt. */
+  void fail(Throwable failure) {
+    complete(failure);
+    barriers.clear();
+  }
+}
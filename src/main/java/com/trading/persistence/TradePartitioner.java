@@ -0,0 +1,54 @@
+package com.trading.persistence;
+
+import com.trading.config.ArchiveProperties;
+import jakarta.annotation.PostConstruct;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the monthly partitions of {@code trades} ahead of time, on startup and then daily.
+ * Trades falling outside every partition go to {@code trades_default}; a month can no longer get
+ * its own partition once the default partition holds rows of that month, which is why partitions
+ * are created months in advance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TradePartitioner {
+
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ArchiveProperties properties;
+
+  @PostConstruct
+  @Scheduled(cron = "0 0 0 * * *", zone = "UTC")
+  public void createPartitions() {
+    YearMonth current = YearMonth.now(ZoneOffset.UTC);
+    for (int i = 0; i <= properties.tradePartitionsAhead(); i++) {
+      createPartition(current.plusMonths(i));
+    }
+  }
+
+  private void createPartition(YearMonth month) {
+    String sql =
+        "create table if not exists trades_%s partition of trades for values from ('%s') to ('%s')"
+            .formatted(month.format(SUFFIX), start(month), start(month.plusMonths(1)));
+    try {
+      jdbcTemplate.execute(sql);
+    } catch (DataAccessException e) {
+      log.warn("Cannot create the trades partition of {}", month, e);
+    }
+  }
+
+  private static String start(YearMonth month) {
+    return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+  }
+}
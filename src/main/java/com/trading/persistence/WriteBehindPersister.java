@@ -0,0 +1,388 @@
+package com.trading.persistence;
+
+import com.trading.config.PersistenceProperties;
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEventListener;
+import com.trading.entity.InstrumentEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persists engine events off the matching path. Events are queued in a bounded buffer and written
+ * by a single thread as JDBC batches, one transaction per flush. A flush happens when the batch
+ * size is reached, when the oldest pending event has waited for the flush interval, or as soon as
+ * a caller asks for a {@link #barrier()}; concurrent barriers share the same commit.
+ *
+ * <p>Inserts are idempotent upserts, so events can safely be written again when the journal is
+ * replayed after a crash. Order rows carry the version of the last change written to them, and a
+ * write never replaces a newer version, so replayed or otherwise stale updates cannot undo a later
+ * fill or cancellation; such skipped writes are counted as conflicts.
+ *
+ * <p>A failed flush is retried with the same events, backing off exponentially, until it commits.
+ * Events are never dropped: while the database is unavailable the writer stops draining the buffer,
+ * and once it is full the matching threads block until the writes succeed again. Barriers waiting
+ * on a failed flush complete exceptionally right away, so that callers do not hang on the outage.
+ */
+@Slf4j
+@Order(0)
+@Component
+public class WriteBehindPersister implements EngineEventListener {
+
+  // Order writes only apply on top of the same or an older version of the row
+  private static final String INSERT_ORDER =
+      "insert into orders (id, trader_id, instrument_id, direction, type, price, stop_price,"
+          + " time_in_force, expires_at, quantity, remaining_quantity, status, created_at,"
+          + " composite_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+          + " on conflict (id) do update set remaining_quantity = excluded.remaining_quantity,"
+          + " status = excluded.status, version = excluded.version"
+          + " where orders.version <= excluded.version";
+  private static final String UPDATE_ORDER =
+      "update orders set remaining_quantity = ?, status = ?, version = ?"
+          + " where id = ? and version <= ?";
+  private static final String INSERT_TRADE =
+      "insert into trades (id, instrument_id, buy_order_id, sell_order_id, price, quantity,"
+          + " timestamp) values (?, ?, ?, ?, ?, ?, ?) on conflict (id, timestamp) do nothing";
+  private static final String UPDATE_LEG_COUNT =
+      "update composite_order set leg_count = ? where composite_id = ?";
+  private static final String UPDATE_MARKET_PRICE =
+      "update instruments set market_price = ?, version = version + 1 where id = ?";
+  // Recounted from the legs rather than incremented, so replaying journaled events is harmless.
+  // A rolled-back composite keeps the status set by the rollback, even without a filled leg.
+  private static final String REFRESH_COMPOSITE =
+      "update composite_order c set filled_legs = legs.filled,"
+          + " partially_filled_legs = legs.partially_filled,"
+          + " status = case when c.status = 'CANCELLED' then c.status"
+          + " when legs.filled = 0 and c.status <> 'PARTIALLY_FILLED' then 'PENDING'"
+          + " when legs.filled >= greatest(c.leg_count, legs.total) then 'FILLED'"
+          + " else 'PARTIALLY_FILLED' end"
+          + " from (select count(*) as total,"
+          + " count(*) filter (where status = 'FILLED') as filled,"
+          + " count(*) filter (where status = 'PARTIALLY_FILLED') as partially_filled"
+          + " from orders where composite_id = ?) legs"
+          + " where c.composite_id = ?";
+
+  private static final long FIRST_RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+  private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+  private final int batchSize;
+  private final long flushIntervalNanos;
+  private final long maxRetryBackoffNanos;
+  private final BlockingQueue<Object> queue;
+  private final Thread writer;
+  private final Timer flushDuration;
+  private final DistributionSummary flushSize;
+  private final Counter staleWrites;
+  private final Counter failedFlushes;
+  private volatile boolean running = true;
+
+  public WriteBehindPersister(
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      EntityManagerFactory entityManagerFactory,
+      PersistenceProperties properties,
+      MeterRegistry registry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.entityManagerFactory = entityManagerFactory;
+    this.batchSize = properties.batchSize();
+    this.flushIntervalNanos = properties.flushInterval().toNanos();
+    this.maxRetryBackoffNanos = properties.maxRetryBackoff().toNanos();
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    this.writer = new Thread(this::run, "write-behind");
+    this.writer.setDaemon(true);
+    this.flushDuration =
+        Timer.builder("trading.persistence.flush")
+            .description("Write-behind transaction time, from first statement to commit")
+            .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+            .publishPercentileHistogram()
+            .register(registry);
+    this.flushSize =
+        DistributionSummary.builder("trading.persistence.flush.events")
+            .description("Engine events written by one write-behind transaction")
+            .register(registry);
+    this.staleWrites =
+        Counter.builder("trading.persistence.conflicts")
+            .description("Order updates skipped because the stored row is newer or gone")
+            .register(registry);
+    this.failedFlushes =
+        Counter.builder("trading.persistence.flush.failures")
+            .description("Write-behind transactions rolled back and retried")
+            .register(registry);
+    Gauge.builder("trading.persistence.queue.depth", queue, BlockingQueue::size)
+        .description("Engine events and barriers waiting for the write-behind thread")
+        .register(registry);
+  }
+
+  @PostConstruct
+  void start() {
+    writer.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    writer.join(TimeUnit.SECONDS.toMillis(30));
+    if (writer.isAlive()) {
+      log.error("Write-behind thread still retrying at shutdown, {} items queued", queue.size());
+    }
+  }
+
+  @Override
+  public void onEvent(EngineEvent event) {
+    put(event);
+  }
+
+  /**
+   * Durability barrier.
+   *
+   * @return a future completing once every event handed over before this call is committed, or
+   *     exceptionally if those writes could not be stored
+   */
+  public CompletableFuture<Void> barrier() {
+    CompletableFuture<Void> barrier = new CompletableFuture<>();
+    put(new Barrier(barrier));
+    return barrier;
+  }
+
+  /**
+   * Corrects the number of legs of a composite order once it is known which legs were accepted,
+   * and refreshes its status. Queued behind the events of those legs, so the refresh sees them.
+   */
+  public void setLegCount(UUID compositeId, int legCount) {
+    put(new LegCount(compositeId, legCount));
+  }
+
+  private void put(Object item) {
+    try {
+      queue.put(item);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while queueing a write", e);
+    }
+  }
+
+  private void run() {
+    PendingWrites pending = new PendingWrites();
+    List<Object> drained = new ArrayList<>();
+    long flushDeadline = 0;
+    while (running || !queue.isEmpty() || !pending.isEmpty()) {
+      try {
+        long wait =
+            pending.isEmpty() ? IDLE_POLL_NANOS : Math.max(0, flushDeadline - System.nanoTime());
+        Object first = queue.poll(wait, TimeUnit.NANOSECONDS);
+        if (first != null) {
+          if (pending.isEmpty()) {
+            flushDeadline = System.nanoTime() + flushIntervalNanos;
+          }
+          drained.add(first);
+          queue.drainTo(drained, batchSize);
+          for (Object item : drained) {
+            if (item instanceof Barrier barrier) {
+              pending.addBarrier(barrier.future());
+            } else if (item instanceof LegCount legCount) {
+              pending.setLegCount(legCount.compositeId(), legCount.legCount());
+            } else {
+              pending.add((EngineEvent) item);
+            }
+          }
+          drained.clear();
+        }
+        if (!pending.isEmpty()
+            && (!pending.barriers.isEmpty()
+                || pending.size() >= batchSize
+                || System.nanoTime() >= flushDeadline
+                || !running)) {
+          flush(pending);
+          pending = new PendingWrites();
+        }
+      } catch (InterruptedException e) {
+        log.error("Write-behind thread interrupted, {} events not written", pending.size());
+        pending.complete(e);
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Writes the pending events, retrying until they commit.
+   *
+   * @throws InterruptedException if the writer is interrupted while backing off; the events are
+   *     then left to the journal
+   */
+  private void flush(PendingWrites pending) throws InterruptedException {
+    long backoff = FIRST_RETRY_BACKOFF_NANOS;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        long start = System.nanoTime();
+        Integer stale = transactionTemplate.execute(status -> write(pending));
+        flushDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        flushSize.record(pending.size());
+        if (stale != null && stale > 0) {
+          log.warn("Skipped {} stale order updates", stale);
+          staleWrites.increment(stale);
+        }
+        evictInstruments(pending);
+        pending.complete(null);
+        if (attempt > 1) {
+          log.info("Write-behind flush of {} events committed on retry", pending.size());
+        }
+        return;
+      } catch (RuntimeException e) {
+        failedFlushes.increment();
+        log.warn(
+            "Write-behind flush of {} events failed on attempt {}, retrying in {} ms",
+            pending.size(),
+            attempt,
+            TimeUnit.NANOSECONDS.toMillis(backoff),
+            e);
+        pending.fail(e);
+        TimeUnit.NANOSECONDS.sleep(backoff);
+        backoff = Math.min(backoff * 2, maxRetryBackoffNanos);
+      }
+    }
+  }
+
+  /** @return the number of order updates skipped because the stored row was newer or gone */
+  private int write(PendingWrites pending) {
+    if (!pending.insertedOrders.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          INSERT_ORDER,
+          List.copyOf(pending.insertedOrders.values()),
+          batchSize,
+          (ps, order) -> {
+            ps.setObject(1, order.orderId());
+            ps.setString(2, order.traderId());
+            ps.setObject(3, order.instrumentId());
+            ps.setString(4, order.direction().name());
+            ps.setString(5, order.type().name());
+            ps.setBigDecimal(6, order.price());
+            ps.setBigDecimal(7, order.stopPrice());
+            ps.setString(8, order.timeInForce().name());
+            ps.setObject(
+                9,
+                order.expiresAt() != null ? timestamp(order.expiresAt()) : null,
+                Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setInt(10, order.quantity());
+            ps.setInt(11, order.remainingQuantity());
+            ps.setString(12, order.status().name());
+            ps.setObject(13, timestamp(order.createdAt()));
+            ps.setObject(14, order.compositeId(), Types.OTHER);
+            ps.setLong(15, order.version());
+          });
+    }
+    int stale = 0;
+    if (!pending.updatedOrders.isEmpty()) {
+      int[][] counts =
+          jdbcTemplate.batchUpdate(
+              UPDATE_ORDER,
+              List.copyOf(pending.updatedOrders.values()),
+              batchSize,
+              (ps, order) -> {
+                ps.setInt(1, order.remainingQuantity());
+                ps.setString(2, order.status().name());
+                ps.setLong(3, order.version());
+                ps.setObject(4, order.orderId());
+                ps.setLong(5, order.version());
+              });
+      for (int[] batch : counts) {
+        for (int count : batch) {
+          if (count == 0) {
+            stale++;
+          }
+        }
+      }
+    }
+    if (!pending.trades.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          INSERT_TRADE,
+          pending.trades,
+          batchSize,
+          (ps, trade) -> {
+            ps.setObject(1, trade.tradeId());
+            ps.setObject(2, trade.instrumentId());
+            ps.setObject(3, trade.buyOrderId());
+            ps.setObject(4, trade.sellOrderId());
+            ps.setBigDecimal(5, trade.price());
+            ps.setInt(6, trade.quantity());
+            ps.setObject(7, timestamp(trade.timestamp()));
+          });
+    }
+    if (!pending.marketPrices.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          UPDATE_MARKET_PRICE,
+          List.copyOf(pending.marketPrices.entrySet()),
+          batchSize,
+          (ps, price) -> {
+            ps.setBigDecimal(1, price.getValue());
+            ps.setObject(2, price.getKey());
+          });
+    }
+    if (!pending.legCounts.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          UPDATE_LEG_COUNT,
+          List.copyOf(pending.legCounts.entrySet()),
+          batchSize,
+          (ps, legCount) -> {
+            ps.setInt(1, legCount.getValue());
+            ps.setObject(2, legCount.getKey());
+          });
+    }
+    if (!pending.composites.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          REFRESH_COMPOSITE,
+          List.copyOf(pending.composites),
+          batchSize,
+          (ps, compositeId) -> {
+            ps.setObject(1, compositeId);
+            ps.setObject(2, compositeId);
+          });
+    }
+    return stale;
+  }
+
+  /**
+   * Market prices are written around Hibernate, so instruments cached in the second-level cache
+   * are evicted once their new price is committed.
+   */
+  private void evictInstruments(PendingWrites pending) {
+    Cache cache = entityManagerFactory.getCache();
+    for (UUID instrumentId : pending.marketPrices.keySet()) {
+      cache.evict(InstrumentEntity.class, instrumentId);
+    }
+  }
+
+  private static OffsetDateTime timestamp(Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+
+  private record Barrier(CompletableFuture<Void> future) {}
+
+  private record LegCount(UUID compositeId, int legCount) {}
+}
@@ -0,0 +1,190 @@
+package com.trading.replay;
+
+import com.trading.dto.OrderRequest;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import com.trading.replay.FlowRecord.Cancelled;
+import com.trading.replay.FlowRecord.Placed;
+import com.trading.replay.FlowRecord.Traded;
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of recorded order flows. A file starts with a magic number, a format
+ * version and the wall-clock time the recording started, followed by records made of a one byte
+ * type tag and fixed-width fields. Enums are stored by ordinal, like in the journal, so new
+ * constants must only ever be appended.
+ */
+final class FlowCodec {
+
+  private static final int MAGIC = 0x54524643; // "TRFC"
+  private static final byte VERSION = 1;
+
+  private static final byte PLACED = 1;
+  private static final byte CANCELLED = 2;
+  private static final byte TRADED = 3;
+
+  private static final OrderDirection[] DIRECTIONS = OrderDirection.values();
+  private static final OrderType[] TYPES = OrderType.values();
+  private static final TimeInForce[] TIMES_IN_FORCE = TimeInForce.values();
+
+  private FlowCodec() {}
+
+  /** Recording read back from a file. */
+  record Recording(Instant startedAt, List<FlowRecord> records) {}
+
+  static void writeHeader(DataOutput out, Instant startedAt) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    writeInstant(out, startedAt);
+  }
+
+  static void write(DataOutput out, FlowRecord record) throws IOException {
+    switch (record) {
+      case Placed placed -> {
+        OrderRequest request = placed.request();
+        out.writeByte(PLACED);
+        out.writeLong(placed.nanos());
+        writeUuid(out, placed.orderId());
+        out.writeUTF(request.traderId());
+        out.writeUTF(request.instrumentSymbol());
+        out.writeByte(request.direction().ordinal());
+        out.writeByte(request.type().ordinal());
+        out.writeInt(request.quantity());
+        writeDecimal(out, request.price());
+        writeDecimal(out, request.stopPrice());
+        out.writeByte(request.timeInForce().ordinal());
+        if (request.expiresAt() != null) {
+          writeInstant(out, request.expiresAt());
+        }
+      }
+      case Cancelled cancelled -> {
+        out.writeByte(CANCELLED);
+        out.writeLong(cancelled.nanos());
+        writeUuid(out, cancelled.orderId());
+      }
+      case Traded traded -> {
+        out.writeByte(TRADED);
+        out.writeLong(traded.nanos());
+        out.writeUTF(traded.symbol());
+        writeUuid(out, traded.buyOrderId());
+        writeUuid(out, traded.sellOrderId());
+        writeDecimal(out, traded.price());
+        out.writeInt(traded.quantity());
+      }
+    }
+  }
+
+  static Recording read(Path file) throws IOException {
+    try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+      DataInputStream in = new DataInputStream(stream);
+      if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+        throw new IOException(file + " is not an order flow recording");
+      }
+      Instant startedAt = readInstant(in);
+      List<FlowRecord> records = new ArrayList<>();
+      while (true) {
+        int type = in.read();
+        if (type < 0) {
+          return new Recording(startedAt, records);
+        }
+        try {
+          records.add(read(in, (byte) type));
+        } catch (EOFException e) {
+          // The recording was cut short; everything before the torn record is complete
+          return new Recording(startedAt, records);
+        }
+      }
+    }
+  }
+
+  private static FlowRecord read(DataInput in, byte type) throws IOException {
+    return switch (type) {
+      case PLACED -> {
+        long nanos = in.readLong();
+        UUID orderId = readUuid(in);
+        String traderId = in.readUTF();
+        String symbol = in.readUTF();
+        OrderDirection direction = DIRECTIONS[in.readByte()];
+        OrderType orderType = TYPES[in.readByte()];
+        int quantity = in.readInt();
+        BigDecimal price = readDecimal(in);
+        BigDecimal stopPrice = readDecimal(in);
+        TimeInForce timeInForce = TIMES_IN_FORCE[in.readByte()];
+        Instant expiresAt = timeInForce == TimeInForce.GOOD_TILL_DATE ? readInstant(in) : null;
+        yield new Placed(
+            nanos,
+            orderId,
+            new OrderRequest(
+                traderId,
+                symbol,
+                direction,
+                orderType,
+                quantity,
+                price,
+                stopPrice,
+                timeInForce,
+                expiresAt));
+      }
+      case CANCELLED -> new Cancelled(in.readLong(), readUuid(in));
+      case TRADED ->
+          new Traded(
+              in.readLong(),
+              in.readUTF(),
+              readUuid(in),
+              readUuid(in),
+              readDecimal(in),
+              in.readInt());
+      default -> throw new IOException("Unknown flow record type " + type);
+    };
+  }
+
+  private static void writeUuid(DataOutput out, UUID value) throws IOException {
+    out.writeLong(value.getMostSignificantBits());
+    out.writeLong(value.getLeastSignificantBits());
+  }
+
+  private static UUID readUuid(DataInput in) throws IOException {
+    return new UUID(in.readLong(), in.readLong());
+  }
+
+  private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+    if (value == null) {
+      out.writeByte(0);
+    } else {
+      out.writeByte(1);
+      out.writeInt(value.scale());
+      out.writeLong(value.unscaledValue().longValueExact());
+    }
+  }
+
+  private static BigDecimal readDecimal(DataInput in) throws IOException {
+    if (in.readByte() == 0) {
+      return null;
+    }
+    int scale = in.readInt();
+    return BigDecimal.valueOf(in.readLong(), scale);
+  }
+
+  private static void writeInstant(DataOutput out, Instant value) throws IOException {
+    out.writeLong(value.getEpochSecond());
+    out.writeInt(value.getNano());
+  }
+
+  private static Instant readInstant(DataInput in) throws IOException {
+    return Instant.ofEpochSecond(in.readLong(), in.readInt());
+  }
+}
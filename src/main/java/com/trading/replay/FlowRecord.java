@@ -0,0 +1,28 @@
+package com.trading.replay;
+
+import com.trading.dto.OrderRequest;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Entry of a recorded order flow, in the order the engine sequenced it. */
+public sealed interface FlowRecord {
+
+  /** Nanoseconds between the start of the recording and this entry. */
+  long nanos();
+
+  /** The engine accepted an order under the given id. */
+  record Placed(long nanos, UUID orderId, OrderRequest request) implements FlowRecord {}
+
+  /** A trader cancelled an order. */
+  record Cancelled(long nanos, UUID orderId) implements FlowRecord {}
+
+  /** Two orders traded; recorded to verify replays, never replayed. */
+  record Traded(
+      long nanos,
+      String symbol,
+      UUID buyOrderId,
+      UUID sellOrderId,
+      BigDecimal price,
+      int quantity)
+      implements FlowRecord {}
+}
@@ -0,0 +1,237 @@
+package com.trading.replay;
+
+import com.trading.config.RecordingProperties;
+import com.trading.dto.OrderRequest;
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.engine.EngineEventListener;
+import com.trading.entity.OrderEntity;
+import com.trading.entity.TimeInForce;
+import com.trading.replay.FlowRecord.Cancelled;
+import com.trading.replay.FlowRecord.Placed;
+import com.trading.replay.FlowRecord.Traded;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the order flow sequenced by the engine to a file that {@link FlowReplayer} replays: the
+ * orders accepted, the cancellations requested by traders and, to verify replays, the trades.
+ * Entries are taken on the shard threads in the order each shard sequenced them and handed through
+ * a bounded queue to a single writer thread, so recording adds no I/O to the matching path. The
+ * shards never wait for the writer: entries that find the queue full are dropped and counted, and
+ * a recording that dropped entries is reported as incomplete when it stops.
+ *
+ * <p>Orders of a batch, a composite or a quote replacement are recorded one by one, as the engine
+ * processes them. Nothing is recorded while no recording runs beyond a volatile read per event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlowRecorder implements EngineEventListener {
+
+  private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final RecordingProperties properties;
+  private volatile Session recording;
+
+  @PostConstruct
+  void startIfEnabled() throws IOException {
+    if (properties.enabled()) {
+      start(Path.of(properties.file()));
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    stop();
+  }
+
+  /** Starts recording to the given file, replacing its content. */
+  public synchronized void start(Path file) throws IOException {
+    if (recording != null) {
+      throw new IllegalStateException("Already recording to " + recording.file);
+    }
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    FlowCodec.writeHeader(out, Instant.now());
+    Session session = new Session(file, out, System.nanoTime(), properties.queueCapacity());
+    session.writer.start();
+    recording = session;
+    log.info("Recording the order flow to {}", file);
+  }
+
+  /** Stops recording once every entry taken so far is written; does nothing when not recording. */
+  public synchronized void stop() {
+    Session stopped = recording;
+    if (stopped == null) {
+      return;
+    }
+    recording = null;
+    stopped.close();
+    try {
+      stopped.writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    long dropped = stopped.dropped.get();
+    if (dropped > 0) {
+      log.error("Recording {} is incomplete, {} entries were dropped", stopped.file, dropped);
+    }
+    if (stopped.failure != null) {
+      throw new UncheckedIOException(
+          "Cannot write the recording " + stopped.file, stopped.failure);
+    }
+  }
+
+  public boolean isRecording() {
+    return recording != null;
+  }
+
+  @Override
+  public void onEvent(EngineEvent event) {
+    Session current = recording;
+    if (current == null) {
+      return;
+    }
+    switch (event) {
+      case OrderAccepted accepted ->
+          current.append(new Placed(current.elapsed(), accepted.orderId(), requestOf(accepted)));
+      case TradeExecuted trade ->
+          current.append(
+              new Traded(
+                  current.elapsed(),
+                  trade.symbol(),
+                  trade.buyOrderId(),
+                  trade.sellOrderId(),
+                  trade.price(),
+                  trade.quantity()));
+      default -> {}
+    }
+  }
+
+  /**
+   * Records the cancellation of an order requested by its trader. Called by the engine on the shard
+   * of the order; the cancellations the engine decides itself, like the remainder of an
+   * immediate-or-cancel order, follow from the orders and are not recorded.
+   */
+  public void cancelled(OrderEntity order) {
+    Session current = recording;
+    if (current != null) {
+      current.append(new Cancelled(current.elapsed(), order.getId()));
+    }
+  }
+
+  private static OrderRequest requestOf(OrderAccepted accepted) {
+    // The expiry of a day order follows from the session close when it is replayed
+    return new OrderRequest(
+        accepted.traderId(),
+        accepted.symbol(),
+        accepted.direction(),
+        accepted.type(),
+        accepted.quantity(),
+        accepted.price(),
+        accepted.stopPrice(),
+        accepted.timeInForce(),
+        accepted.timeInForce() == TimeInForce.GOOD_TILL_DATE ? accepted.expiresAt() : null);
+  }
+
+  private static final class Session {
+
+    private final Path file;
+    private final DataOutputStream out;
+    private final long startNanos;
+    private final BlockingQueue<FlowRecord> queue;
+    private final Thread writer;
+    private final AtomicLong dropped = new AtomicLong();
+    // Shard threads inside append; closing waits for them so that no accepted entry comes late
+    private final AtomicInteger appending = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile boolean running = true;
+    // Set by the writer thread before it ends
+    private volatile IOException failure;
+
+    private Session(Path file, DataOutputStream out, long startNanos, int queueCapacity) {
+      this.file = file;
+      this.out = out;
+      this.startNanos = startNanos;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+      this.writer = new Thread(this::run, "flow-recorder");
+      this.writer.setDaemon(true);
+    }
+
+    private long elapsed() {
+      return System.nanoTime() - startNanos;
+    }
+
+    /** Queues an entry, unless the session was closed by a shard thread that read it before. */
+    private void append(FlowRecord record) {
+      appending.incrementAndGet();
+      try {
+        if (!closed && !queue.offer(record) && dropped.getAndIncrement() == 0) {
+          log.warn("Recording queue full, dropping entries of {}", file);
+        }
+      } finally {
+        appending.decrementAndGet();
+      }
+    }
+
+    /**
+     * Refuses further entries and lets the writer end once the accepted ones are written. An
+     * append either sees the session closed or is waited for here before the writer is told to
+     * finish, so the writer never ends with an accepted entry still on its way to the queue.
+     */
+    private void close() {
+      closed = true;
+      while (appending.get() > 0) {
+        Thread.onSpinWait();
+      }
+      running = false;
+    }
+
+    private void run() {
+      List<FlowRecord> drained = new ArrayList<>();
+      try (out) {
+        while (running || !queue.isEmpty()) {
+          FlowRecord first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+          if (first == null) {
+            continue;
+          }
+          drained.add(first);
+          queue.drainTo(drained);
+          for (FlowRecord record : drained) {
+            FlowCodec.write(out, record);
+          }
+          drained.clear();
+        }
+      } catch (IOException e) {
+        log.error("Cannot write to the recording {}, recording stops", file, e);
+        failure = e;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
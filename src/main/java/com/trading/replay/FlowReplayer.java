@@ -0,0 +1,198 @@
+package com.trading.replay;
+
+import com.trading.dto.OrderRequest;
+import com.trading.dto.OrderResponse;
+import com.trading.replay.FlowCodec.Recording;
+import com.trading.replay.FlowRecord.Cancelled;
+import com.trading.replay.FlowRecord.Placed;
+import com.trading.replay.FlowRecord.Traded;
+import com.trading.service.OrderService;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays a flow recorded by {@link FlowRecorder} in-process against {@link OrderService}, one
+ * request at a time in the recorded order, at the original pace or faster. Requests are sent
+ * sequentially, so each instrument sees the same sequence of orders and cancellations as when the
+ * flow was recorded, and matching is deterministic: the replay records its own flow and checks
+ * that every instrument traded the same orders at the same prices and quantities.
+ *
+ * <p>The replay must start from the state the recording started from, usually an empty database,
+ * and with the same instruments, tick sizes and risk limits. Expiry times of good-till-date orders
+ * are shifted by the time between the recording and the replay; expiries themselves run on the
+ * wall clock and are not sped up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlowReplayer {
+
+  private final OrderService orderService;
+  private final FlowRecorder recorder;
+
+  /**
+   * @param speed pace relative to the recording: {@code 1} replays at the original pace, {@code
+   *     10} ten times faster and {@code 0} as fast as possible
+   * @throws IllegalStateException if the flow is being recorded, since the replay records its own
+   */
+  public ReplayReport replay(Path file, double speed) throws IOException {
+    if (speed < 0) {
+      throw new IllegalArgumentException("The replay speed cannot be negative");
+    }
+    if (recorder.isRecording()) {
+      throw new IllegalStateException(
+          "Cannot replay while the order flow is being recorded; stop the recording first");
+    }
+    Recording recording = FlowCodec.read(file);
+    Duration shift = Duration.between(recording.startedAt(), Instant.now());
+    Map<UUID, UUID> replayedIds = new HashMap<>();
+    List<Traded> recordedTrades = new ArrayList<>();
+    Histogram latencies = new Histogram(3);
+    int placed = 0;
+    int cancelled = 0;
+    int failed = 0;
+
+    Path replayed = Files.createTempFile("replay-", ".flow");
+    try {
+      recorder.start(replayed);
+      long start = System.nanoTime();
+      try {
+        for (FlowRecord record : recording.records()) {
+          if (record instanceof Traded traded) {
+            recordedTrades.add(traded);
+            continue;
+          }
+          long due = speed > 0 ? start + (long) (record.nanos() / speed) : System.nanoTime();
+          for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+          }
+          try {
+            switch (record) {
+              case Placed order -> {
+                OrderResponse response = orderService.placeOrder(shifted(order.request(), shift));
+                replayedIds.put(order.orderId(), response.orderId());
+                placed++;
+              }
+              case Cancelled cancellation -> {
+                UUID orderId = replayedIds.get(cancellation.orderId());
+                if (orderId == null) {
+                  throw new IllegalStateException(
+                      "Order " + cancellation.orderId() + " was placed before the recording");
+                }
+                orderService.cancelOrder(orderId);
+                cancelled++;
+              }
+              case Traded trade -> throw new IllegalStateException("Trades are not replayed");
+            }
+            latencies.recordValue(System.nanoTime() - due);
+          } catch (RuntimeException e) {
+            log.warn("Replay of {} failed: {}", record, e.getMessage());
+            failed++;
+          }
+        }
+      } finally {
+        recorder.stop();
+      }
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+      List<Traded> replayedTrades = new ArrayList<>();
+      for (FlowRecord record : FlowCodec.read(replayed).records()) {
+        if (record instanceof Traded traded) {
+          replayedTrades.add(traded);
+        }
+      }
+      return new ReplayReport(
+          placed,
+          cancelled,
+          failed,
+          recordedTrades.size(),
+          elapsed,
+          latencies,
+          firstMismatch(recordedTrades, replayedTrades, replayedIds));
+    } finally {
+      Files.deleteIfExists(replayed);
+    }
+  }
+
+  private static OrderRequest shifted(OrderRequest request, Duration shift) {
+    if (request.expiresAt() == null) {
+      return request;
+    }
+    return new OrderRequest(
+        request.traderId(),
+        request.instrumentSymbol(),
+        request.direction(),
+        request.type(),
+        request.quantity(),
+        request.price(),
+        request.stopPrice(),
+        request.timeInForce(),
+        request.expiresAt().plus(shift));
+  }
+
+  /**
+   * Compares the trades of each instrument in sequence, with the replayed orders translated back to
+   * the recorded ones. Instruments are compared separately because shards interleave freely.
+   */
+  static String firstMismatch(
+      List<Traded> recorded, List<Traded> replayed, Map<UUID, UUID> replayedIds) {
+    Map<UUID, UUID> recordedIds = new HashMap<>();
+    replayedIds.forEach((recordedId, replayedId) -> recordedIds.put(replayedId, recordedId));
+    Map<String, List<Fill>> expected = fillsBySymbol(recorded, Map.of());
+    Map<String, List<Fill>> actual = fillsBySymbol(replayed, recordedIds);
+    Set<String> symbols = new LinkedHashSet<>(expected.keySet());
+    symbols.addAll(actual.keySet());
+    for (String symbol : symbols) {
+      List<Fill> expectedFills = expected.getOrDefault(symbol, List.of());
+      List<Fill> actualFills = actual.getOrDefault(symbol, List.of());
+      for (int i = 0; i < Math.max(expectedFills.size(), actualFills.size()); i++) {
+        Fill recordedFill = i < expectedFills.size() ? expectedFills.get(i) : null;
+        Fill replayedFill = i < actualFills.size() ? actualFills.get(i) : null;
+        if (recordedFill == null || !recordedFill.equals(replayedFill)) {
+          return symbol
+              + " trade "
+              + (i + 1)
+              + ": recorded "
+              + recordedFill
+              + ", replayed "
+              + replayedFill;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static Map<String, List<Fill>> fillsBySymbol(List<Traded> trades, Map<UUID, UUID> ids) {
+    Map<String, List<Fill>> fills = new LinkedHashMap<>();
+    for (Traded trade : trades) {
+      fills
+          .computeIfAbsent(trade.symbol(), symbol -> new ArrayList<>())
+          .add(
+              new Fill(
+                  ids.getOrDefault(trade.buyOrderId(), trade.buyOrderId()),
+                  ids.getOrDefault(trade.sellOrderId(), trade.sellOrderId()),
+                  trade.price(),
+                  trade.quantity()));
+    }
+    return fills;
+  }
+
+  private record Fill(UUID buyOrderId, UUID sellOrderId, BigDecimal price, int quantity) {}
+}
@@ -0,0 +1,70 @@
+package com.trading.replay;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of a replay.
+ *
+ * @param placed orders placed
+ * @param cancelled orders cancelled
+ * @param failed requests rejected, which all succeeded when the flow was recorded
+ * @param trades trades of the recording
+ * @param elapsed time the replay took
+ * @param latencies nanoseconds from the time each request was due to its response. Measured from
+ *     the due time rather than from the send time, so a slow response also counts against the
+ *     requests it delayed.
+ * @param tradeMismatch first difference between the recorded and the replayed trades, or {@code
+ *     null} if they are identical
+ */
+public record ReplayReport(
+    int placed,
+    int cancelled,
+    int failed,
+    int trades,
+    Duration elapsed,
+    Histogram latencies,
+    String tradeMismatch) {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  public boolean tradesMatch() {
+    return tradeMismatch == null;
+  }
+
+  /** Requests per second. */
+  public double throughput() {
+    return (placed + cancelled + failed) / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+  }
+
+  /** Human-readable report, with latencies in microseconds. */
+  public String summary() {
+    StringBuilder summary =
+        new StringBuilder()
+            .append(
+                String.format(
+                    "%d placed, %d cancelled, %d failed in %d ms (%.0f requests/s)%n",
+                    placed, cancelled, failed, elapsed.toMillis(), throughput()));
+    summary.append("latency (us):");
+    for (double percentile : PERCENTILES) {
+      long latency = latencies.getValueAtPercentile(percentile);
+      summary.append(
+          String.format(
+              " p%s=%.1f",
+              BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+              micros(latency)));
+    }
+    summary.append(String.format(" max=%.1f%n", micros(latencies.getMaxValue())));
+    summary.append(
+        tradesMatch()
+            ? trades + " trades identical to the recording"
+            : "trades differ from the recording: " + tradeMismatch);
+    return summary.toString();
+  }
+
+  private static double micros(long nanos) {
+    return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+  }
+}
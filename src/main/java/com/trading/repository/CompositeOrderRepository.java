@@ -1,7 +1,18 @@
 package com.trading.repository;
 
 import com.trading.entity.CompositeOrder;
+import com.trading.entity.CompositeOrderStatus;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface CompositeOrderRepository extends JpaRepository<CompositeOrder, UUID> {}
+public interface CompositeOrderRepository extends JpaRepository<CompositeOrder, UUID> {
+
+  /** Sets the status alone, leaving the leg counters maintained by the persister untouched. */
+  @Transactional
+  @Modifying
+  @Query("update CompositeOrder c set c.status = :status where c.compositeId = :compositeId")
+  int updateStatus(UUID compositeId, CompositeOrderStatus status);
+}
@@ -1,14 +1,37 @@
 package com.trading.repository;
 
 import com.trading.entity.*;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
-  List<OrderEntity> findByInstrumentAndDirectionAndStatusInOrderByPriceDescCreatedAtAsc(
-      InstrumentEntity instrument, OrderDirection direction, List<OrderStatus> statuses);
+  // Statuses are literals so that the planner can use the partial index on active orders
 
-  List<OrderEntity> findByInstrumentAndDirectionAndStatusInOrderByPriceAscCreatedAtAsc(
-      InstrumentEntity instrument, OrderDirection direction, List<OrderStatus> statuses);
+  /** First page of the active limit orders and waiting stop orders, in arrival order. */
+  @Query(
+      "select o from OrderEntity o where o.status in (com.trading.entity.OrderStatus.OPEN,"
+          + " com.trading.entity.OrderStatus.PARTIALLY_FILLED,"
+          + " com.trading.entity.OrderStatus.AWAITING_TRIGGER)"
+          + " and (o.price is not null or o.stopPrice is not null)"
+          + " order by o.createdAt, o.id")
+  List<OrderEntity> findActive(Limit limit);
+
+  /** Page following the order arrived at {@code createdAt} with the given id, keyset paginated. */
+  @Query(
+      "select o from OrderEntity o where o.status in (com.trading.entity.OrderStatus.OPEN,"
+          + " com.trading.entity.OrderStatus.PARTIALLY_FILLED,"
+          + " com.trading.entity.OrderStatus.AWAITING_TRIGGER)"
+          + " and (o.price is not null or o.stopPrice is not null)"
+          + " and (o.createdAt > :createdAt or (o.createdAt = :createdAt and o.id > :id))"
+          + " order by o.createdAt, o.id")
+  List<OrderEntity> findActiveAfter(Instant createdAt, UUID id, Limit limit);
+
+  /** Order moved to {@code order_history} by the archival job. */
+  @Query(value = "select * from order_history where id = :id", nativeQuery = true)
+  Optional<OrderEntity> findArchivedById(UUID id);
 }
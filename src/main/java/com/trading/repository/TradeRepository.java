@@ -1,7 +1,44 @@
 package com.trading.repository;
 
 import com.trading.entity.TradeEntity;
-import java.util.UUID;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface TradeRepository extends JpaRepository<TradeEntity, UUID> {}
+public interface TradeRepository extends JpaRepository<TradeEntity, TradeEntity.Key> {
+
+  /**
+   * Net quantity each trader bought minus sold in each instrument, over every trade. The orders of
+   * older trades may have been archived, so both order tables are searched. Bought and sold
+   * quantities are summed separately, each through an equality join on its own order column.
+   */
+  @Query(
+      value =
+          "select p.trader as trader, i.symbol as symbol,"
+              + " cast(sum(p.quantity) as bigint) as position from ("
+              + "select o.trader_id as trader, t.instrument_id, sum(t.quantity) as quantity"
+              + " from trades t"
+              + " join (select id, trader_id from orders"
+              + " union all select id, trader_id from order_history) o"
+              + " on o.id = t.buy_order_id"
+              + " group by o.trader_id, t.instrument_id"
+              + " union all"
+              + " select o.trader_id, t.instrument_id, -sum(t.quantity)"
+              + " from trades t"
+              + " join (select id, trader_id from orders"
+              + " union all select id, trader_id from order_history) o"
+              + " on o.id = t.sell_order_id"
+              + " group by o.trader_id, t.instrument_id) p"
+              + " join instruments i on i.id = p.instrument_id"
+              + " group by p.trader, i.symbol",
+      nativeQuery = true)
+  List<TraderPosition> findPositions();
+
+  interface TraderPosition {
+    String getTrader();
+
+    String getSymbol();
+
+    long getPosition();
+  }
+}
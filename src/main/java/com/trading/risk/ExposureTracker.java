@@ -0,0 +1,162 @@
+package com.trading.risk;
+
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.engine.EngineEventListener;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposure counters of every trader: their open orders, and their net position and the remaining
+ * quantity of their open buy and sell orders in each instrument. The counters follow the events of
+ * the shards, so they change on the matching threads as orders are accepted, filled, cancelled or
+ * expire, and reading them never touches the database. Each trader has atomic counters of their own
+ * in a concurrent map, so shards only contend on the counters of a trader whose orders they match
+ * at the same time.
+ *
+ * <p>Order updates carry the new remaining quantity but neither the side nor the previous quantity,
+ * so the side and remaining quantity of each open order are kept as well. An order is only ever
+ * updated by the shard of its instrument.
+ *
+ * <p>The counters are restored from the database when the books are rebuilt.
+ */
+@Component
+public class ExposureTracker implements EngineEventListener {
+
+  private final Map<String, Counters> traders = new ConcurrentHashMap<>();
+  private final Map<UUID, OpenOrder> openOrders = new ConcurrentHashMap<>();
+
+  @Override
+  public void onEvent(EngineEvent event) {
+    switch (event) {
+      case OrderAccepted accepted -> {
+        Counters counters = counters(accepted.traderId());
+        counters.openOrders.incrementAndGet();
+        open(
+            counters,
+            accepted.orderId(),
+            accepted.symbol(),
+            accepted.direction(),
+            accepted.remainingQuantity());
+      }
+      case OrderUpdated updated -> {
+        Counters counters = counters(updated.traderId());
+        if (updated.status().isTerminal()) {
+          counters.openOrders.decrementAndGet();
+        }
+        OpenOrder order = openOrders.get(updated.orderId());
+        if (order != null) {
+          int remaining = updated.status().isTerminal() ? 0 : updated.remainingQuantity();
+          AtomicLong open = counters.instrument(order.symbol()).openQuantity(order.direction());
+          open.addAndGet(remaining - order.remainingQuantity());
+          if (remaining == 0) {
+            openOrders.remove(updated.orderId());
+          } else {
+            openOrders.put(updated.orderId(), order.withRemainingQuantity(remaining));
+          }
+        }
+      }
+      case TradeExecuted trade -> {
+        counters(trade.buyTraderId()).position(trade.symbol()).addAndGet(trade.quantity());
+        counters(trade.sellTraderId()).position(trade.symbol()).addAndGet(-trade.quantity());
+      }
+    }
+  }
+
+  /**
+   * Current exposure of a trader in an instrument.
+   *
+   * @param pending orders of the trader that open (added) or close (subtracted) in the same step as
+   *     the order being checked, and that the counters do not reflect yet
+   */
+  public TraderExposure exposure(String traderId, String symbol, TraderExposure pending) {
+    Counters counters = traders.get(traderId);
+    if (counters == null) {
+      return pending;
+    }
+    Instrument instrument = counters.instruments.get(symbol);
+    TraderExposure current =
+        instrument == null
+            ? new TraderExposure(counters.openOrders.get(), 0, 0, 0)
+            : new TraderExposure(
+                counters.openOrders.get(),
+                instrument.position.get(),
+                instrument.openBuyQuantity.get(),
+                instrument.openSellQuantity.get());
+    return current.plus(pending);
+  }
+
+  /** Forgets every counter before they are restored. */
+  public void clear() {
+    traders.clear();
+    openOrders.clear();
+  }
+
+  /** Counts an active order loaded back into a book. */
+  public void restoreOrder(OrderEntity order) {
+    Counters counters = counters(order.getTraderId());
+    counters.openOrders.incrementAndGet();
+    open(
+        counters,
+        order.getId(),
+        order.getInstrument().getSymbol(),
+        order.getDirection(),
+        order.getRemainingQuantity());
+  }
+
+  public void restorePosition(String traderId, String symbol, long position) {
+    counters(traderId).position(symbol).set(position);
+  }
+
+  private void open(
+      Counters counters, UUID orderId, String symbol, OrderDirection direction, int remaining) {
+    if (remaining > 0) {
+      counters.instrument(symbol).openQuantity(direction).addAndGet(remaining);
+      openOrders.put(orderId, new OpenOrder(symbol, direction, remaining));
+    }
+  }
+
+  private Counters counters(String traderId) {
+    return traders.computeIfAbsent(traderId, id -> new Counters());
+  }
+
+  private record OpenOrder(String symbol, OrderDirection direction, int remainingQuantity) {
+
+    private OpenOrder withRemainingQuantity(int remaining) {
+      return new OpenOrder(symbol, direction, remaining);
+    }
+  }
+
+  private static final class Counters {
+
+    private final AtomicInteger openOrders = new AtomicInteger();
+    private final Map<String, Instrument> instruments = new ConcurrentHashMap<>();
+
+    private Instrument instrument(String symbol) {
+      return instruments.computeIfAbsent(symbol, key -> new Instrument());
+    }
+
+    private AtomicLong position(String symbol) {
+      return instrument(symbol).position;
+    }
+  }
+
+  private static final class Instrument {
+
+    private final AtomicLong position = new AtomicLong();
+    private final AtomicLong openBuyQuantity = new AtomicLong();
+    private final AtomicLong openSellQuantity = new AtomicLong();
+
+    private AtomicLong openQuantity(OrderDirection direction) {
+      return direction == OrderDirection.BUY ? openBuyQuantity : openSellQuantity;
+    }
+  }
+}
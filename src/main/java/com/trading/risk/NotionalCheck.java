@@ -0,0 +1,45 @@
+package com.trading.risk;
+
+import com.trading.config.RiskProperties;
+import com.trading.entity.OrderEntity;
+import com.trading.exception.RiskLimitException;
+import java.math.BigDecimal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects orders worth more than {@code trading.risk.max-notional}, at their limit price, else at
+ * their stop price, else at the market price of their instrument.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotionalCheck implements PreTradeCheck {
+
+  private final RiskProperties properties;
+
+  @Override
+  public void check(OrderEntity order, TraderExposure exposure) {
+    BigDecimal limit = properties.maxNotional();
+    if (limit.signum() <= 0) {
+      return;
+    }
+    BigDecimal price =
+        order.getPrice() != null
+            ? order.getPrice()
+            : order.getStopPrice() != null
+                ? order.getStopPrice()
+                : order.getInstrument().getMarketPrice();
+    // A market order on an instrument that never traded has nothing to be valued at
+    if (price == null) {
+      return;
+    }
+    BigDecimal notional = price.multiply(BigDecimal.valueOf(order.getQuantity()));
+    if (notional.compareTo(limit) > 0) {
+      throw new RiskLimitException(
+          "Notional "
+              + notional.toPlainString()
+              + " exceeds the maximum notional "
+              + limit.toPlainString());
+    }
+  }
+}
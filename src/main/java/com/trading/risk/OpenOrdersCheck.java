@@ -0,0 +1,24 @@
+package com.trading.risk;
+
+import com.trading.config.RiskProperties;
+import com.trading.entity.OrderEntity;
+import com.trading.exception.RiskLimitException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Rejects new orders of a trader who already has {@code trading.risk.max-open-orders}. */
+@Component
+@RequiredArgsConstructor
+public class OpenOrdersCheck implements PreTradeCheck {
+
+  private final RiskProperties properties;
+
+  @Override
+  public void check(OrderEntity order, TraderExposure exposure) {
+    int limit = properties.maxOpenOrders();
+    if (limit > 0 && exposure.openOrders() >= limit) {
+      throw new RiskLimitException(
+          "Trader " + order.getTraderId() + " already has " + limit + " open orders, the maximum");
+    }
+  }
+}
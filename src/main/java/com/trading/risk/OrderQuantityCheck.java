@@ -0,0 +1,24 @@
+package com.trading.risk;
+
+import com.trading.config.RiskProperties;
+import com.trading.entity.OrderEntity;
+import com.trading.exception.RiskLimitException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Rejects orders larger than {@code trading.risk.max-order-quantity}. */
+@Component
+@RequiredArgsConstructor
+public class OrderQuantityCheck implements PreTradeCheck {
+
+  private final RiskProperties properties;
+
+  @Override
+  public void check(OrderEntity order, TraderExposure exposure) {
+    int limit = properties.maxOrderQuantity();
+    if (limit > 0 && order.getQuantity() > limit) {
+      throw new RiskLimitException(
+          "Quantity " + order.getQuantity() + " exceeds the maximum order quantity " + limit);
+    }
+  }
+}
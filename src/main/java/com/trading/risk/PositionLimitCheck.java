@@ -0,0 +1,45 @@
+package com.trading.risk;
+
+import com.trading.config.RiskProperties;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import com.trading.exception.RiskLimitException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects orders that could take the position of the trader in the instrument beyond {@code
+ * trading.risk.max-position} long or short. The worst case is checked: the new order and every open
+ * order of the trader on the same side filled. Orders reducing a position that is already beyond
+ * the limit are accepted.
+ */
+@Component
+@RequiredArgsConstructor
+public class PositionLimitCheck implements PreTradeCheck {
+
+  private final RiskProperties properties;
+
+  @Override
+  public void check(OrderEntity order, TraderExposure exposure) {
+    long limit = properties.maxPosition();
+    if (limit <= 0) {
+      return;
+    }
+    long quantity = exposure.openQuantity(order.getDirection()) + order.getQuantity();
+    long position =
+        exposure.position() + (order.getDirection() == OrderDirection.BUY ? quantity : -quantity);
+    if (Math.abs(position) > limit && Math.abs(position) > Math.abs(exposure.position())) {
+      throw new RiskLimitException(
+          "Position "
+              + position
+              + " of trader "
+              + order.getTraderId()
+              + " in "
+              + order.getInstrument().getSymbol()
+              + " with every open "
+              + order.getDirection()
+              + " order filled would exceed the maximum position "
+              + limit);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.trading.risk;
+
+import com.trading.entity.OrderEntity;
+import com.trading.exception.RiskLimitException;
+
+/**
+ * One rule of the pre-trade risk stage. Every bean implementing it is applied to each new order on
+ * the shard of its instrument before the order is accepted, so a check runs on the matching path:
+ * it must only read the order, its instrument and the exposure of the trader, and never block.
+ */
+public interface PreTradeCheck {
+
+  /**
+   * @throws RiskLimitException if the order would breach the limit
+   */
+  void check(OrderEntity order, TraderExposure exposure);
+}
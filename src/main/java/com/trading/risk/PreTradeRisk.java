@@ -0,0 +1,44 @@
+package com.trading.risk;
+
+import com.trading.entity.OrderEntity;
+import com.trading.exception.RiskLimitException;
+import com.trading.metrics.EngineMetrics;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-trade risk stage of the engine. Applies every {@link PreTradeCheck} bean to a new order
+ * against the in-memory exposure of its trader, on the shard of the order's instrument and before
+ * the order is accepted, so the instrument's market price and the trader's position in it cannot
+ * change while the order is checked.
+ */
+@Component
+@RequiredArgsConstructor
+public class PreTradeRisk {
+
+  private final List<PreTradeCheck> checks;
+  private final ExposureTracker exposures;
+  private final EngineMetrics metrics;
+
+  /**
+   * @param pending orders of the trader that open (added) or close (subtracted) in the same step
+   *     as this one, see {@link ExposureTracker#exposure}
+   * @throws RiskLimitException if the order breaches a limit
+   */
+  public void check(OrderEntity order, TraderExposure pending) {
+    if (checks.isEmpty()) {
+      return;
+    }
+    TraderExposure exposure =
+        exposures.exposure(order.getTraderId(), order.getInstrument().getSymbol(), pending);
+    try {
+      for (PreTradeCheck check : checks) {
+        check.check(order, exposure);
+      }
+    } catch (RiskLimitException e) {
+      metrics.riskRejected();
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.trading.risk;
+
+import com.trading.config.RiskProperties;
+import com.trading.entity.OrderEntity;
+import com.trading.exception.RiskLimitException;
+import java.math.BigDecimal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects limit and stop prices further than {@code trading.risk.price-band} from the market price
+ * of the instrument. Instruments that never traded have no band.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceBandCheck implements PreTradeCheck {
+
+  private final RiskProperties properties;
+
+  @Override
+  public void check(OrderEntity order, TraderExposure exposure) {
+    BigDecimal band = properties.priceBand();
+    BigDecimal marketPrice = order.getInstrument().getMarketPrice();
+    if (band.signum() <= 0 || marketPrice == null) {
+      return;
+    }
+    BigDecimal lower = marketPrice.multiply(BigDecimal.ONE.subtract(band));
+    BigDecimal upper = marketPrice.multiply(BigDecimal.ONE.add(band));
+    checkWithin(order, order.getPrice(), lower, upper);
+    checkWithin(order, order.getStopPrice(), lower, upper);
+  }
+
+  private static void checkWithin(
+      OrderEntity order, BigDecimal price, BigDecimal lower, BigDecimal upper) {
+    if (price != null && (price.compareTo(lower) < 0 || price.compareTo(upper) > 0)) {
+      throw new RiskLimitException(
+          "Price "
+              + price.toPlainString()
+              + " is outside the band from "
+              + lower.toPlainString()
+              + " to "
+              + upper.toPlainString()
+              + " of "
+              + order.getInstrument().getSymbol());
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.trading.risk;
+
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+
+/**
+ * Exposure of a trader when one of their new orders is checked.
+ *
+ * @param openOrders orders of the trader accepted and not yet filled, cancelled or expired, in
+ *     every instrument of this node
+ * @param position net quantity the trader bought minus sold in the instrument of the order
+ * @param openBuyQuantity remaining quantity of the open buy orders of the trader in the instrument
+ * @param openSellQuantity remaining quantity of the open sell orders of the trader in the
+ *     instrument
+ */
+public record TraderExposure(
+    int openOrders, long position, long openBuyQuantity, long openSellQuantity) {
+
+  public static final TraderExposure NONE = new TraderExposure(0, 0, 0, 0);
+
+  /** Exposure added by an order while it is open. */
+  public static TraderExposure of(OrderEntity order) {
+    long remaining = order.getRemainingQuantity();
+    return order.getDirection() == OrderDirection.BUY
+        ? new TraderExposure(1, 0, remaining, 0)
+        : new TraderExposure(1, 0, 0, remaining);
+  }
+
+  public long openQuantity(OrderDirection direction) {
+    return direction == OrderDirection.BUY ? openBuyQuantity : openSellQuantity;
+  }
+
+  public TraderExposure plus(TraderExposure other) {
+    return new TraderExposure(
+        openOrders + other.openOrders,
+        position + other.position,
+        openBuyQuantity + other.openBuyQuantity,
+        openSellQuantity + other.openSellQuantity);
+  }
+
+  public TraderExposure minus(TraderExposure other) {
+    return new TraderExposure(
+        openOrders - other.openOrders,
+        position - other.position,
+        openBuyQuantity - other.openBuyQuantity,
+        openSellQuantity - other.openSellQuantity);
+  }
+}
@@ -1,27 +1,91 @@
 package com.trading.service;
 
+import static com.trading.mapper.OrderMapper.toResponse;
+
+import com.trading.cluster.InstrumentOwnership;
+import com.trading.cluster.OrderForwarder;
+import com.trading.dto.BatchOrderResult;
 import com.trading.dto.CompositeInstrumentRequest;
+import com.trading.dto.CompositeOrderRequest;
+import com.trading.dto.CompositeOrderResult;
 import com.trading.entity.*;
+import com.trading.persistence.WriteBehindPersister;
 import com.trading.repository.CompositeOrderRepository;
-import jakarta.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CompositeOrderService {
 
   private final CompositeOrderRepository compositeOrderRepository;
-  private final OrderService orderService;
   private final OrderBookService orderBookService;
+  private final InstrumentOwnership ownership;
+  private final OrderForwarder forwarder;
+  private final WriteBehindPersister persister;
 
-  @Transactional
   public UUID createCompositeOrder(List<CompositeInstrumentRequest> instruments, String traderId) {
-    CompositeOrder composite = new CompositeOrder();
-    compositeOrderRepository.save(composite);
+    return createCompositeOrder(instruments, traderId, false);
+  }
 
+  /**
+   * Places the legs of a composite order as one batch: legs of different instruments are matched
+   * concurrently by the shards owning them, and the call returns once every leg is acknowledged.
+   * The first rejected leg is rethrown once the others are placed.
+   *
+   * <p>In all-or-none mode every leg first goes through validation, the pre-trade checks and, for
+   * legs that would not rest, a check that the book can fill them, and nothing is placed unless
+   * all of them pass. If a leg still fails while matching, because its book or the exposure of the
+   * trader changed in between, the remaining quantity of the other legs is cancelled. Fills that
+   * already happened are not undone: the composite is then marked partially filled if any leg
+   * traded, and cancelled otherwise.
+   *
+   * <p>Outside all-or-none mode the composite is filled once its accepted legs are, and cancelled
+   * if no leg was accepted.
+   *
+   * <p>Every leg must be owned by the same node, and the composite order is forwarded to that node
+   * if it is not this one.
+   */
+  public UUID createCompositeOrder(
+      List<CompositeInstrumentRequest> instruments, String traderId, boolean allOrNone) {
+    if (!isLocal(instruments)) {
+      return forwarder.createCompositeOrder(
+          instruments.getFirst().symbol(),
+          new CompositeOrderRequest(instruments, traderId, allOrNone));
+    }
+    Placement placement = place(instruments, traderId, allOrNone);
+    if (placement.failure() != null) {
+      throw placement.failure();
+    }
+    return placement.result().compositeId();
+  }
+
+  /**
+   * Same as {@link #createCompositeOrder(List, String, boolean)}, but a rejected leg does not fail
+   * the call: the outcome of each leg is returned instead.
+   */
+  public CompositeOrderResult placeCompositeOrder(
+      List<CompositeInstrumentRequest> instruments, String traderId, boolean allOrNone) {
+    if (!isLocal(instruments)) {
+      return forwarder.placeCompositeOrder(
+          instruments.getFirst().symbol(),
+          new CompositeOrderRequest(instruments, traderId, allOrNone));
+    }
+    return place(instruments, traderId, allOrNone).result();
+  }
+
+  private Placement place(
+      List<CompositeInstrumentRequest> instruments, String traderId, boolean allOrNone) {
+    List<OrderEntity> legs = new ArrayList<>(instruments.size());
     for (CompositeInstrumentRequest instr : instruments) {
       OrderEntity order = new OrderEntity();
       order.setTraderId(traderId);
@@ -30,30 +94,107 @@ public class CompositeOrderService {
       order.setType(instr.type());
       order.setQuantity(instr.quantity());
       order.setPrice(instr.price());
-      order.setCompositeOrder(composite);
+      legs.add(order);
+    }
+    if (allOrNone) {
+      orderBookService.checkAll(legs);
+    }
 
-      orderService.placeOrder(order);
+    CompositeOrder composite = new CompositeOrder();
+    composite.setLegCount(legs.size());
+    compositeOrderRepository.save(composite);
+    legs.forEach(leg -> leg.setCompositeOrder(composite));
+
+    List<BatchOrderResult> results = new ArrayList<>(legs.size());
+    List<OrderEntity> placed = new ArrayList<>(legs.size());
+    RuntimeException failure = null;
+    List<CompletableFuture<OrderEntity>> processed = orderBookService.processOrders(legs);
+    for (int i = 0; i < processed.size(); i++) {
+      try {
+        OrderEntity leg = processed.get(i).join();
+        placed.add(leg);
+        results.add(BatchOrderResult.placed(i, HttpStatus.CREATED.value(), toResponse(leg)));
+      } catch (CompletionException e) {
+        results.add(
+            BatchOrderResult.rejected(
+                i, OrderService.statusOf(e.getCause()), e.getCause().getMessage()));
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+      }
     }
-    return composite.getCompositeId();
+    // A leg that does not rest is cancelled unfilled if its book changed since the check
+    if (allOrNone
+        && (failure != null
+            || placed.stream().anyMatch(leg -> leg.getStatus() == OrderStatus.CANCELLED))) {
+      rollBack(composite, placed);
+    } else if (failure != null) {
+      // Rejected legs are never stored, so the composite completes with the accepted ones
+      if (placed.isEmpty()) {
+        compositeOrderRepository.updateStatus(
+            composite.getCompositeId(), CompositeOrderStatus.CANCELLED);
+      } else {
+        persister.setLegCount(composite.getCompositeId(), placed.size());
+      }
+    }
+    return new Placement(new CompositeOrderResult(composite.getCompositeId(), results), failure);
   }
 
+  /**
+   * Status maintained on the composite row as its legs change; the legs are not loaded. Final
+   * statuses are cached.
+   */
+  @Cacheable(cacheNames = "compositeStatuses", unless = "!#result.terminal")
   public CompositeOrderStatus getCompositeStatus(UUID compositeId) {
-    CompositeOrder comp =
-        compositeOrderRepository
-            .findById(compositeId)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid composite order"));
+    return compositeOrderRepository
+        .findById(compositeId)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid composite order"))
+        .getStatus();
+  }
+
+  private boolean isLocal(List<CompositeInstrumentRequest> instruments) {
+    return ownerOfLegs(instruments).equals(ownership.getNodeId());
+  }
 
-    long filled =
-        comp.getUnderlyingOrders().stream()
-            .filter(o -> o.getStatus() == OrderStatus.FILLED)
-            .count();
+  private String ownerOfLegs(List<CompositeInstrumentRequest> instruments) {
+    if (instruments.isEmpty()) {
+      return ownership.getNodeId();
+    }
+    String owner = ownership.ownerId(instruments.getFirst().symbol());
+    for (CompositeInstrumentRequest instr : instruments) {
+      if (!ownership.ownerId(instr.symbol()).equals(owner)) {
+        throw new IllegalStateException(
+            "Legs of a composite order must be owned by one node, but "
+                + instr.symbol()
+                + " and "
+                + instruments.getFirst().symbol()
+                + " are not");
+      }
+    }
+    return owner;
+  }
 
-    if (filled == 0) {
-      return CompositeOrderStatus.PENDING;
-    } else if (filled == comp.getUnderlyingOrders().size()) {
-      return CompositeOrderStatus.FILLED;
-    } else {
-      return CompositeOrderStatus.PARTIALLY_FILLED;
+  private void rollBack(CompositeOrder composite, List<OrderEntity> placed) {
+    boolean traded = false;
+    for (OrderEntity leg : placed) {
+      OrderEntity last = leg;
+      if (!leg.getStatus().isTerminal()) {
+        try {
+          last = orderBookService.cancelOrder(leg);
+        } catch (IllegalStateException e) {
+          // Filled between its placement and the rollback
+          log.warn(
+              "Cannot roll back leg {} of composite {}", leg.getId(), composite.getCompositeId());
+          traded = true;
+        }
+      }
+      traded |= last.getRemainingQuantity() < last.getQuantity();
     }
+    compositeOrderRepository.updateStatus(
+        composite.getCompositeId(),
+        traded ? CompositeOrderStatus.PARTIALLY_FILLED : CompositeOrderStatus.CANCELLED);
   }
+
+  /** Outcome of the legs placed on this node, and the first rejection among them. */
+  private record Placement(CompositeOrderResult result, RuntimeException failure) {}
 }
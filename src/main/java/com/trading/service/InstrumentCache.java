@@ -0,0 +1,72 @@
+package com.trading.service;
+
+import com.trading.entity.InstrumentEntity;
+import com.trading.repository.InstrumentRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Symbol to instrument cache in front of {@link InstrumentRepository}, so that resolving the
+ * instrument of an order is a map lookup once the symbol has been seen. Instruments are created on
+ * first use; when two callers create the same symbol concurrently, the loser of the unique
+ * constraint on {@code symbol} reads the winner's row instead of failing.
+ *
+ * <p>Cached instances are shared by every order of the instrument. Their market price is only
+ * updated by the shard owning the instrument.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InstrumentCache {
+
+  private final InstrumentRepository instrumentRepository;
+  private final Map<String, InstrumentEntity> instruments = new ConcurrentHashMap<>();
+
+  /** Loads every known instrument, so that first orders after a restart do not hit the database. */
+  @PostConstruct
+  public void warmUp() {
+    instrumentRepository
+        .findAll()
+        .forEach(instrument -> instruments.put(instrument.getSymbol(), instrument));
+    log.info("Cached {} instruments", instruments.size());
+  }
+
+  public InstrumentEntity getOrCreate(String symbol) {
+    InstrumentEntity cached = instruments.get(symbol);
+    if (cached != null) {
+      return cached;
+    }
+    // Loaded outside the map so a slow first lookup never blocks other symbols
+    InstrumentEntity loaded =
+        instrumentRepository.findBySymbol(symbol).orElseGet(() -> create(symbol));
+    InstrumentEntity raced = instruments.putIfAbsent(symbol, loaded);
+    return raced != null ? raced : loaded;
+  }
+
+  /** Drops the cached instrument, so the next lookup reads it from the database again. */
+  public void invalidate(String symbol) {
+    instruments.remove(symbol);
+  }
+
+  public void invalidateAll() {
+    instruments.clear();
+  }
+
+  private InstrumentEntity create(String symbol) {
+    InstrumentEntity newInstrument = new InstrumentEntity();
+    newInstrument.setSymbol(symbol);
+    try {
+      return instrumentRepository.saveAndFlush(newInstrument);
+    } catch (DataIntegrityViolationException e) {
+      // Another caller created the symbol first
+      return instrumentRepository
+          .findBySymbol(symbol)
+          .orElseThrow(() -> new IllegalStateException("Cannot create instrument " + symbol, e));
+    }
+  }
+}
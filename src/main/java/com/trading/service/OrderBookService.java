@@ -1,139 +1,613 @@
 package com.trading.service;
 
+import com.trading.cluster.InstrumentOwnership;
+import com.trading.config.ExpiryProperties;
+import com.trading.config.JournalProperties;
+import com.trading.config.PersistenceProperties;
+import com.trading.engine.BookSnapshot;
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.engine.EngineEventListener;
+import com.trading.engine.MatchingEngine;
+import com.trading.engine.MatchingShard;
+import com.trading.engine.OrderBook;
+import com.trading.engine.PriceScale;
 import com.trading.entity.*;
-import com.trading.repository.InstrumentRepository;
+import com.trading.exception.InvalidPriceException;
+import com.trading.exception.OrderNotFoundException;
+import com.trading.journal.JournalService;
+import com.trading.metrics.EngineMetrics;
+import com.trading.persistence.WriteBehindPersister;
+import com.trading.replay.FlowRecorder;
 import com.trading.repository.OrderRepository;
 import com.trading.repository.TradeRepository;
+import com.trading.risk.ExposureTracker;
+import com.trading.risk.PreTradeRisk;
+import com.trading.risk.TraderExposure;
+import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Entry point of the matching engine. Orders and cancellations are sequenced onto the {@link
+ * MatchingShard} that owns the instrument and matched there against the resident {@link
+ * OrderBook}, once the {@link PreTradeRisk} stage has checked them against the in-memory exposure
+ * of their trader. Matching only changes memory and publishes {@link EngineEvent}s; the {@link
+ * JournalService} and the {@link WriteBehindPersister} make them durable, and callers wait for
+ * the journal sync and/or the database commit as configured.
+ */
 @Service
 @RequiredArgsConstructor
 public class OrderBookService {
 
+  static final int REBUILD_PAGE_SIZE = 1000;
+
   private final OrderRepository orderRepository;
 
+  private final InstrumentCache instrumentCache;
+
+  private final MatchingEngine matchingEngine;
+
+  private final WriteBehindPersister persister;
+
+  private final JournalService journal;
+
+  private final List<EngineEventListener> listeners;
+
+  private final PersistenceProperties persistenceProperties;
+
+  private final JournalProperties journalProperties;
+
+  private final EngineMetrics metrics;
+
+  private final InstrumentOwnership ownership;
+
+  private final ExpiryProperties expiryProperties;
+
+  private final PreTradeRisk risk;
+
+  private final ExposureTracker exposures;
+
   private final TradeRepository tradeRepository;
 
-  private final InstrumentRepository instrumentRepository;
+  private final FlowRecorder recorder;
 
   public InstrumentEntity getOrCreateInstrument(String symbol) {
-    return instrumentRepository
-        .findBySymbol(symbol)
-        .orElseGet(
-            () -> {
-              InstrumentEntity newInstrument = new InstrumentEntity();
-              newInstrument.setSymbol(symbol);
-              return instrumentRepository.save(newInstrument);
-            });
+    return instrumentCache.getOrCreate(symbol);
+  }
+
+  /**
+   * Rebuilds the in-memory books of the instruments owned by this node from the active limit orders
+   * stored in the {@code orders} table, in arrival order so that time priority within each price
+   * level is preserved. Orders are read in keyset-paginated pages and handed to their shard page by
+   * page, so memory use does not grow with the number of resting orders beyond the books
+   * themselves. Pending writes are flushed first so the table reflects every event already
+   * published. The exposure counters of the pre-trade checks are restored along with the books.
+   */
+  @PostConstruct
+  public void rebuild() {
+    await(persister.barrier());
+    exposures.clear();
+    for (TradeRepository.TraderPosition position : tradeRepository.findPositions()) {
+      if (ownership.isLocal(position.getSymbol())) {
+        exposures.restorePosition(
+            position.getTrader(), position.getSymbol(), position.getPosition());
+      }
+    }
+    List<CompletableFuture<Void>> loads = new ArrayList<>();
+    for (MatchingShard shard : matchingEngine.getShards()) {
+      loads.add(
+          shard.submit(
+              () -> {
+                shard.clear();
+                return null;
+              }));
+    }
+
+    Limit page = Limit.of(REBUILD_PAGE_SIZE);
+    List<OrderEntity> orders = orderRepository.findActive(page);
+    while (!orders.isEmpty()) {
+      Map<MatchingShard, List<OrderEntity>> ordersByShard =
+          orders.stream()
+              .filter(order -> ownership.isLocal(order.getInstrument().getSymbol()))
+              .collect(
+                  Collectors.groupingBy(
+                      order -> matchingEngine.shardFor(order.getInstrument().getSymbol())));
+      // Shards run their tasks in submission order, so each page lands after the previous one
+      ordersByShard.forEach(
+          (shard, shardOrders) ->
+              loads.add(
+                  shard.submit(
+                      () -> {
+                        for (OrderEntity order : shardOrders) {
+                          OrderBook book = shard.book(order.getInstrument().getSymbol());
+                          exposures.restoreOrder(order);
+                          if (order.getStatus() == OrderStatus.AWAITING_TRIGGER) {
+                            book.addStop(order);
+                          } else {
+                            book.add(order);
+                          }
+                        }
+                        return null;
+                      })));
+
+      OrderEntity last = orders.getLast();
+      orders =
+          orders.size() < REBUILD_PAGE_SIZE
+              ? List.of()
+              : orderRepository.findActiveAfter(last.getCreatedAt(), last.getId(), page);
+    }
+    loads.forEach(OrderBookService::await);
   }
 
-  @Transactional
   public OrderEntity processOrder(OrderEntity newOrder) {
+    long receivedAt = System.nanoTime();
+    prepare(newOrder);
 
-    InstrumentEntity instrument = getOrCreateInstrument(newOrder.getInstrument().getSymbol());
-    newOrder.setInstrument(instrument);
-    newOrder.setStatus(OrderStatus.OPEN);
-    newOrder.setRemainingQuantity(newOrder.getQuantity());
+    MatchingShard shard = matchingEngine.shardFor(newOrder.getInstrument().getSymbol());
+    OrderEntity processed = await(shard.submit(() -> checkAndMatch(shard, newOrder)));
+    awaitDurability();
+    metrics.orderAcknowledged(receivedAt);
+    return processed;
+  }
 
-    OrderEntity savedOrder = orderRepository.save(newOrder);
-    List<OrderEntity> matchingOrders;
-    if (newOrder.getDirection() == OrderDirection.BUY) {
-      matchingOrders = findMatchingSellOrders(instrument, newOrder.getPrice());
-    } else {
-      matchingOrders = findMatchingBuyOrders(instrument, newOrder.getPrice());
+  /**
+   * Processes a batch of orders with a single durability wait. Orders are grouped by instrument and
+   * each group is matched by one shard task in submission order, so the shards of different
+   * instruments work on the batch in parallel. A rejected order does not affect the others.
+   *
+   * @return the outcome of each order, in the order of the batch
+   */
+  public List<CompletableFuture<OrderEntity>> processOrders(List<OrderEntity> newOrders) {
+    long receivedAt = System.nanoTime();
+    List<CompletableFuture<OrderEntity>> results = new ArrayList<>(newOrders.size());
+    Map<String, List<PendingOrder>> ordersBySymbol = new LinkedHashMap<>();
+    for (OrderEntity newOrder : newOrders) {
+      CompletableFuture<OrderEntity> result = new CompletableFuture<>();
+      results.add(result);
+      try {
+        prepare(newOrder);
+        ordersBySymbol
+            .computeIfAbsent(newOrder.getInstrument().getSymbol(), symbol -> new ArrayList<>())
+            .add(new PendingOrder(newOrder, result));
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    }
+
+    List<CompletableFuture<Void>> groups = new ArrayList<>(ordersBySymbol.size());
+    ordersBySymbol.forEach(
+        (symbol, pendingOrders) -> {
+          MatchingShard shard = matchingEngine.shardFor(symbol);
+          groups.add(shard.submit(() -> matchAll(shard, pendingOrders)));
+        });
+    groups.forEach(OrderBookService::await);
+    awaitDurability();
+    for (CompletableFuture<OrderEntity> result : results) {
+      if (!result.isCompletedExceptionally()) {
+        metrics.orderAcknowledged(receivedAt);
+      }
     }
+    return results;
+  }
 
-    Iterator<OrderEntity> iterator = matchingOrders.iterator();
-    while (iterator.hasNext() && savedOrder.getRemainingQuantity() > 0) {
-      OrderEntity oppositeOrder = iterator.next();
-      int tradeQuantity =
-          Math.min(savedOrder.getRemainingQuantity(), oppositeOrder.getRemainingQuantity());
-      BigDecimal tradePrice = determineTradePrice(newOrder, oppositeOrder);
-      executeTrade(savedOrder, oppositeOrder, instrument, tradePrice, tradeQuantity);
+  /**
+   * Cancels an open or partially filled order through the shard that owns its instrument, so the
+   * cancellation is ordered with the fills of that instrument: it either removes the remaining
+   * quantity before the next match or is rejected because a fill completed the order first.
+   */
+  public OrderEntity cancelOrder(OrderEntity order) {
+    String symbol = order.getInstrument().getSymbol();
+    MatchingShard shard = matchingEngine.shardFor(symbol);
+    OrderEntity cancelled =
+        await(shard.submit(() -> cancelResting(shard.book(symbol), order.getId())));
+    if (cancelled == null) {
+      // Orders that are not resting never change again, so their flushed row is final
+      await(persister.barrier());
+      OrderEntity stored =
+          orderRepository
+              .findById(order.getId())
+              .or(() -> orderRepository.findArchivedById(order.getId()))
+              .orElseThrow(() -> new OrderNotFoundException(order.getId()));
+      cancelled = await(shard.submit(() -> cancel(stored)));
+    }
+    awaitDurability();
+    return cancelled;
+  }
 
-      // Update remaining quantities
-      savedOrder.setRemainingQuantity(savedOrder.getRemainingQuantity() - tradeQuantity);
-      oppositeOrder.setRemainingQuantity(oppositeOrder.getRemainingQuantity() - tradeQuantity);
+  /**
+   * Cancels every resting and waiting stop order of a trader, in one instrument or in all of them.
+   * Each shard looks the orders up in the per-trader index of its books and cancels them in one
+   * task, and the caller waits for durability once, so the cancellations reach the database in the
+   * same write-behind batches.
+   *
+   * @param symbol instrument to cancel in, or {@code null} for every instrument of this node
+   * @return the cancelled orders
+   */
+  public List<OrderEntity> cancelOrders(String traderId, String symbol) {
+    List<CompletableFuture<List<OrderEntity>>> cancellations = new ArrayList<>();
+    if (symbol != null) {
+      MatchingShard shard = matchingEngine.shardFor(symbol);
+      cancellations.add(shard.submit(() -> cancelAll(shard.findBook(symbol), traderId)));
+    } else {
+      for (MatchingShard shard : matchingEngine.getShards()) {
+        cancellations.add(
+            shard.submit(
+                () -> {
+                  List<OrderEntity> cancelled = new ArrayList<>();
+                  for (OrderBook book : shard.books()) {
+                    cancelled.addAll(cancelAll(book, traderId));
+                  }
+                  return cancelled;
+                }));
+      }
+    }
+    List<OrderEntity> cancelled = new ArrayList<>();
+    for (CompletableFuture<List<OrderEntity>> cancellation : cancellations) {
+      cancelled.addAll(await(cancellation));
+    }
+    awaitDurability();
+    return cancelled;
+  }
 
-      // Update order statuses
-      updateOrderStatus(savedOrder);
-      updateOrderStatus(oppositeOrder);
+  /**
+   * Replaces all the orders of a trader in one instrument with new ones, typically the quotes of a
+   * market maker. Every new order is validated before anything changes, then the cancellations and
+   * the new orders are processed in one task of the instrument's shard, so no other order of the
+   * instrument is matched in between. The pre-trade checks of every new order pass in that task
+   * before the first cancellation, counting the replaced orders as closed and the new orders
+   * checked before as open.
+   *
+   * @param newOrders orders of {@code traderId} in {@code symbol}
+   */
+  public Replacement replaceOrders(String traderId, String symbol, List<OrderEntity> newOrders) {
+    long receivedAt = System.nanoTime();
+    for (OrderEntity newOrder : newOrders) {
+      if (!traderId.equals(newOrder.getTraderId())
+          || !symbol.equals(newOrder.getInstrument().getSymbol())) {
+        throw new IllegalStateException(
+            "Replacing orders must belong to trader " + traderId + " in " + symbol);
+      }
+      prepare(newOrder);
+    }
+    MatchingShard shard = matchingEngine.shardFor(symbol);
+    Replacement replacement =
+        await(
+            shard.submit(
+                () -> {
+                  OrderBook book = shard.findBook(symbol);
+                  TraderExposure pending = TraderExposure.NONE;
+                  if (book != null) {
+                    for (OrderEntity replaced : book.ordersOf(traderId)) {
+                      pending = pending.minus(TraderExposure.of(replaced));
+                    }
+                  }
+                  for (OrderEntity newOrder : newOrders) {
+                    risk.check(newOrder, pending);
+                    pending = pending.plus(TraderExposure.of(newOrder));
+                  }
+                  List<OrderEntity> cancelled = cancelAll(book, traderId);
+                  List<OrderEntity> placed = new ArrayList<>(newOrders.size());
+                  for (OrderEntity newOrder : newOrders) {
+                    placed.add(match(shard, newOrder));
+                  }
+                  return new Replacement(cancelled, placed);
+                }));
+    awaitDurability();
+    for (int i = 0; i < newOrders.size(); i++) {
+      metrics.orderAcknowledged(receivedAt);
+    }
+    return replacement;
+  }
 
-      // Save changes
-      orderRepository.save(savedOrder);
-      orderRepository.save(oppositeOrder);
+  /** Expires the orders whose time in force has ended; scheduled every {@code interval}. */
+  @Scheduled(
+      initialDelayString = "${trading.expiry.interval:1s}",
+      fixedDelayString = "${trading.expiry.interval:1s}")
+  public void expireOrders() {
+    expireOrders(Instant.now());
+  }
 
-      // Update instrument's market price
-      instrument.setMarketPrice(tradePrice);
-      instrumentRepository.save(instrument);
+  /**
+   * Expires the orders whose expiry time is at or before {@code now}. Each shard advances the
+   * timing wheels of its books in one task, between two orders, so an expiry is sequenced with the
+   * fills of its instrument like a cancellation, and its cost depends on the number of orders
+   * expiring and not on the number of orders in the books.
+   *
+   * @return the number of orders expired
+   */
+  public int expireOrders(Instant now) {
+    List<CompletableFuture<Integer>> passes = new ArrayList<>();
+    for (MatchingShard shard : matchingEngine.getShards()) {
+      passes.add(shard.submit(() -> expire(shard, now.toEpochMilli())));
+    }
+    int expired = 0;
+    for (CompletableFuture<Integer> pass : passes) {
+      expired += await(pass);
     }
+    return expired;
+  }
 
-    if (savedOrder.getRemainingQuantity() < 0) {
-      savedOrder.setStatus(OrderStatus.FILLED);
-      orderRepository.save(savedOrder);
+  /**
+   * Aggregated best levels of an instrument's book. The snapshot is taken on the shard owning the
+   * instrument, between two orders, from the per-level totals the book maintains while matching,
+   * so its cost only depends on {@code depth}.
+   */
+  public BookSnapshot getBook(String symbol, int depth) {
+    MatchingShard shard = matchingEngine.shardFor(symbol);
+    return await(
+        shard.submit(
+            () -> {
+              OrderBook book = shard.findBook(symbol);
+              return book != null ? book.snapshot(depth) : BookSnapshot.empty(symbol);
+            }));
+  }
+
+  /** Rejects an order that the engine would not accept, without placing it. */
+  public void validate(OrderEntity newOrder) {
+    String symbol = newOrder.getInstrument().getSymbol();
+    OrderType type = newOrder.getType();
+    if (type == null
+        || type.isPriced() != (newOrder.getPrice() != null)
+        || type.isStop() != (newOrder.getStopPrice() != null)) {
+      metrics.orderRejected();
+      throw new IllegalStateException("Prices do not match the order type " + type);
+    }
+    if ((newOrder.getTimeInForce() == TimeInForce.GOOD_TILL_DATE)
+        != (newOrder.getExpiresAt() != null)) {
+      metrics.orderRejected();
+      throw new IllegalStateException("Only good-till-date orders have an expiry time");
+    }
+    PriceScale priceScale = matchingEngine.priceScale(symbol);
+    for (BigDecimal price : new BigDecimal[] {newOrder.getPrice(), newOrder.getStopPrice()}) {
+      if (price != null && !priceScale.isOnTick(price)) {
+        metrics.orderRejected();
+        throw new InvalidPriceException(symbol, price, priceScale.tickSize());
+      }
     }
-    return savedOrder;
   }
 
   /**
-   * For a buy order, find sell orders with price <= maxPrice (if limit) or all (market) Sort by
-   * price ascending, then time ascending
+   * Runs every check a group of new orders would go through, without placing any: validation, the
+   * pre-trade checks, and for orders whose remainder would be cancelled rather than rest, whether
+   * the book can fill them completely. Each order is checked on the shard of its instrument,
+   * counting the orders before it in the group as open. The books may still change before the
+   * orders are placed.
    *
-   * @param instrument
-   * @param maxPrice
-   * @return
+   * @throws RuntimeException the first failure, in the order of the group
    */
-  private List<OrderEntity> findMatchingSellOrders(
-      InstrumentEntity instrument, BigDecimal maxPrice) {
-    final var activeStatuses = List.of(OrderStatus.OPEN, OrderStatus.PARTIALLY_FILLED);
-    final var sellOrders =
-        orderRepository.findByInstrumentAndDirectionAndStatusInOrderByPriceAscCreatedAtAsc(
-            instrument, OrderDirection.SELL, activeStatuses);
-
-    if (maxPrice != null) {
-      return sellOrders.stream()
-          .filter(order -> order.getPrice().compareTo(maxPrice) <= 0)
-          .toList();
+  public void checkAll(List<OrderEntity> newOrders) {
+    newOrders.forEach(this::prepare);
+    List<CompletableFuture<Void>> checks = new ArrayList<>(newOrders.size());
+    for (int i = 0; i < newOrders.size(); i++) {
+      OrderEntity newOrder = newOrders.get(i);
+      String symbol = newOrder.getInstrument().getSymbol();
+      TraderExposure pending = TraderExposure.NONE;
+      for (OrderEntity before : newOrders.subList(0, i)) {
+        pending =
+            pending.plus(
+                before.getInstrument().getSymbol().equals(symbol)
+                    ? TraderExposure.of(before)
+                    : new TraderExposure(1, 0, 0, 0));
+      }
+      TraderExposure exposure = pending;
+      MatchingShard shard = matchingEngine.shardFor(symbol);
+      checks.add(
+          shard.submit(
+              () -> {
+                risk.check(newOrder, exposure);
+                checkFillable(shard.findBook(symbol), newOrder);
+                return null;
+              }));
+    }
+    checks.forEach(OrderBookService::await);
+  }
+
+  private void checkFillable(OrderBook book, OrderEntity newOrder) {
+    OrderType type = newOrder.getType();
+    if (!type.rests() && !type.isStop() && (book == null || !book.canFill(newOrder))) {
+      metrics.orderRejected();
+      throw new IllegalStateException(
+          "The book of "
+              + newOrder.getInstrument().getSymbol()
+              + " cannot fill the "
+              + type
+              + " order of "
+              + newOrder.getQuantity()
+              + " completely");
+    }
+  }
+
+  /** Validates a new order and resets its engine-owned state. */
+  private void prepare(OrderEntity newOrder) {
+    validate(newOrder);
+
+    newOrder.setInstrument(getOrCreateInstrument(newOrder.getInstrument().getSymbol()));
+    newOrder.setStatus(OrderStatus.OPEN);
+    newOrder.setRemainingQuantity(newOrder.getQuantity());
+    newOrder.setVersion(0);
+    if (newOrder.getCreatedAt() == null) {
+      newOrder.setCreatedAt(Instant.now());
+    }
+    if (newOrder.getTimeInForce() == null) {
+      newOrder.setTimeInForce(TimeInForce.GOOD_TILL_CANCELLED);
+    } else if (newOrder.getTimeInForce() == TimeInForce.DAY) {
+      newOrder.setExpiresAt(expiryProperties.nextSessionClose(newOrder.getCreatedAt()));
+    }
+  }
+
+  private Void matchAll(MatchingShard shard, List<PendingOrder> pendingOrders) {
+    for (PendingOrder pending : pendingOrders) {
+      try {
+        pending.result().complete(checkAndMatch(shard, pending.order()));
+      } catch (RuntimeException e) {
+        pending.result().completeExceptionally(e);
+      }
+    }
+    return null;
+  }
+
+  /** Runs the pre-trade checks of a new order, then matches it. */
+  private OrderEntity checkAndMatch(MatchingShard shard, OrderEntity newOrder) {
+    risk.check(newOrder, TraderExposure.NONE);
+    return match(shard, newOrder);
+  }
+
+  private OrderEntity match(MatchingShard shard, OrderEntity newOrder) {
+    long startedAt = System.nanoTime();
+    OrderBook book = shard.book(newOrder.getInstrument().getSymbol());
+    newOrder.setId(UUID.randomUUID());
+    int fills;
+    if (newOrder.getType().isStop()) {
+      newOrder.setStatus(OrderStatus.AWAITING_TRIGGER);
+      publish(OrderAccepted.of(newOrder));
+      book.addStop(newOrder);
+      // Triggered at once if the last trade already reached its stop price
+      fills = executeTriggeredStops(book, newOrder.getInstrument());
     } else {
-      return sellOrders;
+      publish(OrderAccepted.of(newOrder));
+      fills = execute(book, newOrder);
+      if (fills > 0) {
+        fills += executeTriggeredStops(book, newOrder.getInstrument());
+      }
     }
+    metrics.orderMatched(startedAt, fills);
+    return snapshot(newOrder);
   }
 
   /**
-   * For a sell order, find buy orders with price >= minPrice (if limit) or all (market) Sort by
-   * price descending, then time ascending
+   * Matches an order taking liquidity now. Its remainder rests in the book if its type allows it,
+   * and is cancelled otherwise. A fill-or-kill order that the book cannot fill completely is
+   * cancelled before any fill.
    *
-   * @param instrument
-   * @param minPrice
-   * @return
+   * @return the number of fills
    */
-  private List<OrderEntity> findMatchingBuyOrders(
-      InstrumentEntity instrument, BigDecimal minPrice) {
-    List<OrderStatus> activeStatuses = List.of(OrderStatus.OPEN, OrderStatus.PARTIALLY_FILLED);
-    List<OrderEntity> buyOrders =
-        orderRepository.findByInstrumentAndDirectionAndStatusInOrderByPriceDescCreatedAtAsc(
-            instrument, OrderDirection.BUY, activeStatuses);
-    if (minPrice != null) {
-      return buyOrders.stream().filter(order -> order.getPrice().compareTo(minPrice) >= 0).toList();
-    } else {
-      return buyOrders;
+  private int execute(OrderBook book, OrderEntity order) {
+    InstrumentEntity instrument = order.getInstrument();
+    OrderStatus previousStatus = order.getStatus();
+    int fills = 0;
+    if (order.getType() != OrderType.FILL_OR_KILL || book.canFill(order)) {
+      fills =
+          book.match(
+              order,
+              (resting, fixedPrice, tradeQuantity) -> {
+                BigDecimal tradePrice = book.getPriceScale().toDecimal(fixedPrice);
+                updateOrderStatus(resting);
+                publishUpdate(resting);
+                executeTrade(order, resting, instrument, tradePrice, tradeQuantity);
+
+                // Update instrument's market price
+                instrument.setMarketPrice(tradePrice);
+              });
+    }
+
+    updateOrderStatus(order);
+    if (order.getRemainingQuantity() > 0 && !order.getType().rests()) {
+      order.setStatus(OrderStatus.CANCELLED);
+    }
+    if (order.getStatus() != previousStatus) {
+      publishUpdate(order);
     }
+    if (order.getRemainingQuantity() > 0 && order.getType().rests()) {
+      book.add(order);
+    }
+    return fills;
   }
 
-  private BigDecimal determineTradePrice(OrderEntity newOrder, OrderEntity oppositeOrder) {
-    if (newOrder.getPrice() == null) {
-      return oppositeOrder.getPrice();
-    } else if (oppositeOrder.getPrice() == null) {
-      return newOrder.getPrice();
-    } else {
-      return oppositeOrder.getPrice();
+  /**
+   * Executes the stop orders triggered by the last trade price of the instrument, then the ones
+   * their own trades trigger, in trigger order. The trigger index only releases the stop levels
+   * the price crossed, so books without triggered stops cost a single comparison per side.
+   *
+   * @return the number of fills
+   */
+  private int executeTriggeredStops(OrderBook book, InstrumentEntity instrument) {
+    PriceScale priceScale = book.getPriceScale();
+    BigDecimal lastPrice = instrument.getMarketPrice();
+    // A reference price from outside the engine may be off the tick grid until the first trade
+    if (!book.hasStops() || lastPrice == null || !priceScale.isOnTick(lastPrice)) {
+      return 0;
+    }
+    int fills = 0;
+    ArrayDeque<OrderEntity> triggered = new ArrayDeque<>();
+    book.triggerStops(priceScale.toFixed(lastPrice), triggered::add);
+    while (!triggered.isEmpty()) {
+      int stopFills = execute(book, triggered.poll());
+      if (stopFills > 0) {
+        book.triggerStops(priceScale.toFixed(instrument.getMarketPrice()), triggered::add);
+      }
+      fills += stopFills;
+    }
+    return fills;
+  }
+
+  private int expire(MatchingShard shard, long nowMillis) {
+    int expired = 0;
+    for (OrderBook book : shard.books()) {
+      expired +=
+          book.expire(
+              nowMillis,
+              order -> {
+                order.setStatus(OrderStatus.EXPIRED);
+                publishUpdate(order);
+              });
+    }
+    if (expired > 0) {
+      metrics.ordersExpired(expired);
+    }
+    return expired;
+  }
+
+  private List<OrderEntity> cancelAll(OrderBook book, String traderId) {
+    if (book == null) {
+      return List.of();
+    }
+    List<OrderEntity> traderOrders = book.ordersOf(traderId);
+    List<OrderEntity> cancelled = new ArrayList<>(traderOrders.size());
+    for (OrderEntity order : traderOrders) {
+      cancelled.add(cancel(order));
+      book.remove(order.getId());
+    }
+    return cancelled;
+  }
+
+  private OrderEntity cancelResting(OrderBook book, UUID orderId) {
+    OrderEntity resting = book.get(orderId);
+    if (resting == null) {
+      return null;
+    }
+    OrderEntity cancelled = cancel(resting);
+    book.remove(orderId);
+    return cancelled;
+  }
+
+  private OrderEntity cancel(OrderEntity order) {
+    if (order.getStatus() != OrderStatus.OPEN
+        && order.getStatus() != OrderStatus.PARTIALLY_FILLED
+        && order.getStatus() != OrderStatus.AWAITING_TRIGGER) {
+      metrics.cancelRejected();
+      throw new IllegalStateException("Cannot cancel a non-open order");
     }
+    recorder.cancelled(order);
+    order.setStatus(OrderStatus.CANCELLED);
+    publishUpdate(order);
+    metrics.orderCancelled();
+    return snapshot(order);
   }
 
   private void executeTrade(
@@ -142,14 +616,21 @@ public class OrderBookService {
       InstrumentEntity instrument,
       BigDecimal price,
       int quantity) {
-    TradeEntity trade = new TradeEntity();
-    trade.setBuyOrder(newOrder.getDirection() == OrderDirection.BUY ? newOrder : oppositeOrder);
-    trade.setSellOrder(newOrder.getDirection() == OrderDirection.SELL ? newOrder : oppositeOrder);
-    trade.setInstrument(instrument);
-    trade.setPrice(price);
-    trade.setQuantity(quantity);
-    trade.setTimestamp(Instant.now());
-    tradeRepository.save(trade);
+    OrderEntity buyOrder = newOrder.getDirection() == OrderDirection.BUY ? newOrder : oppositeOrder;
+    OrderEntity sellOrder =
+        newOrder.getDirection() == OrderDirection.SELL ? newOrder : oppositeOrder;
+    publish(
+        new TradeExecuted(
+            UUID.randomUUID(),
+            instrument.getId(),
+            instrument.getSymbol(),
+            buyOrder.getId(),
+            buyOrder.getTraderId(),
+            sellOrder.getId(),
+            sellOrder.getTraderId(),
+            price,
+            quantity,
+            Instant.now()));
   }
 
   private void updateOrderStatus(OrderEntity order) {
@@ -161,4 +642,65 @@ public class OrderBookService {
       order.setStatus(OrderStatus.OPEN);
     }
   }
+
+  /** Publishes the new state of an order under its next version. */
+  private void publishUpdate(OrderEntity order) {
+    order.setVersion(order.getVersion() + 1);
+    publish(OrderUpdated.of(order));
+  }
+
+  private void publish(EngineEvent event) {
+    for (EngineEventListener listener : listeners) {
+      listener.onEvent(event);
+    }
+  }
+
+  private void awaitDurability() {
+    if (journal.isEnabled() && journalProperties.awaitSync()) {
+      await(journal.sync());
+    }
+    if (persistenceProperties.awaitCommit()) {
+      await(persister.barrier());
+    }
+  }
+
+  /**
+   * Copies the order as it stands on the matching thread, so callers never observe later fills
+   * applied to the resting instance.
+   */
+  private static OrderEntity snapshot(OrderEntity order) {
+    return OrderEntity.builder()
+        .id(order.getId())
+        .traderId(order.getTraderId())
+        .direction(order.getDirection())
+        .type(order.getType())
+        .price(order.getPrice())
+        .stopPrice(order.getStopPrice())
+        .timeInForce(order.getTimeInForce())
+        .expiresAt(order.getExpiresAt())
+        .quantity(order.getQuantity())
+        .remainingQuantity(order.getRemainingQuantity())
+        .createdAt(order.getCreatedAt())
+        .instrument(order.getInstrument())
+        .status(order.getStatus())
+        .compositeOrder(order.getCompositeOrder())
+        .version(order.getVersion())
+        .build();
+  }
+
+  /** Outcome of {@link #replaceOrders}: the orders cancelled and the new orders as processed. */
+  public record Replacement(List<OrderEntity> cancelled, List<OrderEntity> placed) {}
+
+  private record PendingOrder(OrderEntity order, CompletableFuture<OrderEntity> result) {}
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
 }
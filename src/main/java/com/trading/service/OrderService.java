@@ -2,27 +2,63 @@ package com.trading.service;
 
 import static com.trading.mapper.OrderMapper.toResponse;
 
+import com.trading.cluster.InstrumentOwnership;
+import com.trading.cluster.OrderForwarder;
+import com.trading.config.ClusterProperties.Member;
+import com.trading.dto.BatchOrderResult;
+import com.trading.dto.CancelResult;
 import com.trading.dto.OrderRequest;
 import com.trading.dto.OrderResponse;
+import com.trading.dto.QuoteReplaceRequest;
+import com.trading.dto.QuoteReplaceResult;
 import com.trading.entity.OrderEntity;
-import com.trading.entity.OrderStatus;
+import com.trading.exception.InvalidPriceException;
+import com.trading.exception.MisdirectedRequestException;
 import com.trading.exception.OrderNotFoundException;
+import com.trading.exception.RiskLimitException;
 import com.trading.mapper.OrderMapper;
 import com.trading.repository.OrderRepository;
+import com.trading.service.OrderBookService.Replacement;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+  static final int MAX_BATCH_SIZE = 1000;
+
   private final OrderRepository orderRepository;
   private final OrderBookService orderBookService;
+  private final Validator validator;
+  private final InstrumentOwnership ownership;
+  private final OrderForwarder forwarder;
 
+  /** Places the order on this node, or on the node owning its instrument. */
   public OrderResponse placeOrder(OrderRequest orderRequest) {
-    OrderEntity order = OrderMapper.toEntity(orderRequest);
+    if (!ownership.isLocal(orderRequest.instrumentSymbol())) {
+      return forwarder.placeOrder(orderRequest);
+    }
+    OrderEntity order = toEntity(orderRequest);
     if (order.getCompositeOrder() != null) {
       throw new IllegalArgumentException(
           "Composite orders must be placed via CompositeOrderService");
@@ -34,22 +70,196 @@ public class OrderService {
     return orderBookService.processOrder(order);
   }
 
-  @Transactional
+  /**
+   * Places a batch of independent orders. Every request is validated first; the valid ones are
+   * matched together and made durable with a single wait, and each order gets its own result.
+   * Orders of instruments owned by other nodes are sent to each owner as one batch, while the
+   * local orders are matched.
+   */
+  public List<BatchOrderResult> placeOrders(List<OrderRequest> orderRequests) {
+    if (orderRequests.size() > MAX_BATCH_SIZE) {
+      throw new IllegalStateException("A batch holds at most " + MAX_BATCH_SIZE + " orders");
+    }
+    BatchOrderResult[] results = new BatchOrderResult[orderRequests.size()];
+    List<Integer> accepted = new ArrayList<>(orderRequests.size());
+    List<OrderEntity> orders = new ArrayList<>(orderRequests.size());
+    Map<Member, List<Integer>> forwarded = new LinkedHashMap<>();
+    for (int i = 0; i < orderRequests.size(); i++) {
+      OrderRequest orderRequest = orderRequests.get(i);
+      String violations = violations(orderRequest);
+      if (violations != null) {
+        results[i] = BatchOrderResult.rejected(i, HttpStatus.BAD_REQUEST.value(), violations);
+      } else if (!ownership.isLocal(orderRequest.instrumentSymbol())) {
+        forwarded
+            .computeIfAbsent(
+                ownership.owner(orderRequest.instrumentSymbol()), owner -> new ArrayList<>())
+            .add(i);
+      } else {
+        accepted.add(i);
+        orders.add(toEntity(orderRequest));
+      }
+    }
+
+    List<CompletableFuture<OrderEntity>> processed = orderBookService.processOrders(orders);
+    forwarded.forEach((owner, indexes) -> forward(owner, orderRequests, indexes, results));
+    for (int i = 0; i < processed.size(); i++) {
+      int index = accepted.get(i);
+      try {
+        OrderResponse response = toResponse(processed.get(i).join());
+        results[index] = BatchOrderResult.placed(index, HttpStatus.CREATED.value(), response);
+      } catch (CompletionException e) {
+        results[index] =
+            BatchOrderResult.rejected(index, statusOf(e.getCause()), e.getCause().getMessage());
+      }
+    }
+    return List.of(results);
+  }
+
   public void cancelOrder(UUID orderId) {
     OrderEntity order =
-        orderRepository.findById(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
-    if (order.getStatus() != OrderStatus.OPEN) {
-      throw new IllegalStateException("Cannot cancel a non-open order");
+        orderRepository
+            .findById(orderId)
+            .or(() -> orderRepository.findArchivedById(orderId))
+            .orElseThrow(() -> new OrderNotFoundException(orderId));
+    String symbol = order.getInstrument().getSymbol();
+    if (!ownership.isLocal(symbol)) {
+      forwarder.cancelOrder(symbol, orderId);
+      return;
+    }
+    orderBookService.cancelOrder(order);
+  }
+
+  /**
+   * Cancels every resting and waiting stop order of a trader in one instrument, or in every
+   * instrument. Without an instrument, the other nodes of the cluster cancel theirs as well, all at
+   * the same time as this one, and a node that fails is reported without affecting the others.
+   *
+   * @param symbol instrument to cancel in, or {@code null} for every instrument
+   * @return the outcome of each cancelled order, and of each node that failed
+   */
+  public List<CancelResult> cancelOrders(String traderId, String symbol) {
+    if (symbol != null && !ownership.isLocal(symbol)) {
+      return forwarder.cancelOrders(traderId, symbol);
+    }
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Map<Member, CompletableFuture<List<CancelResult>>> remote = new LinkedHashMap<>();
+      if (symbol == null && !forwarder.isForwarded()) {
+        for (Member member : ownership.getMembers()) {
+          if (!member.id().equals(ownership.getNodeId())) {
+            remote.put(
+                member,
+                CompletableFuture.supplyAsync(
+                    () -> forwarder.cancelOrders(member, traderId), executor));
+          }
+        }
+      }
+      List<CancelResult> results = new ArrayList<>();
+      for (OrderEntity order : orderBookService.cancelOrders(traderId, symbol)) {
+        results.add(CancelResult.cancelled(ownership.getNodeId(), toResponse(order)));
+      }
+      remote.forEach(
+          (member, cancellation) -> {
+            try {
+              results.addAll(cancellation.join());
+            } catch (CompletionException e) {
+              results.add(
+                  CancelResult.failed(
+                      member.id(), statusOf(e.getCause()), e.getCause().getMessage()));
+            }
+          });
+      return results;
+    }
+  }
+
+  /**
+   * Replaces every order of a trader in one instrument with new orders, on the node owning the
+   * instrument. Nothing changes if one of the new orders is rejected.
+   */
+  public QuoteReplaceResult replaceOrders(QuoteReplaceRequest request) {
+    if (!ownership.isLocal(request.symbol())) {
+      return forwarder.replaceOrders(request);
+    }
+    if (request.orders().size() > MAX_BATCH_SIZE) {
+      throw new IllegalStateException("A replacement holds at most " + MAX_BATCH_SIZE + " orders");
     }
-    order.setStatus(OrderStatus.CANCELLED);
-    orderRepository.save(order);
+    Replacement replacement =
+        orderBookService.replaceOrders(
+            request.traderId(),
+            request.symbol(),
+            request.orders().stream().map(this::toEntity).toList());
+    return new QuoteReplaceResult(
+        replacement.cancelled().stream().map(OrderMapper::toResponse).toList(),
+        replacement.placed().stream().map(OrderMapper::toResponse).toList());
   }
 
+  /** Orders that can no longer change are cached; the others are always read from the database. */
   @Transactional(readOnly = true)
+  @Cacheable(cacheNames = "terminalOrders", unless = "!#result.status().terminal")
   public OrderResponse getOrder(UUID orderId) {
     return orderRepository
         .findById(orderId)
+        .or(() -> orderRepository.findArchivedById(orderId))
         .map(OrderMapper::toResponse)
         .orElseThrow(() -> new OrderNotFoundException(orderId));
   }
+
+  private OrderEntity toEntity(OrderRequest orderRequest) {
+    return OrderMapper.toEntity(
+        orderRequest, orderBookService.getOrCreateInstrument(orderRequest.instrumentSymbol()));
+  }
+
+  private void forward(
+      Member owner,
+      List<OrderRequest> orderRequests,
+      List<Integer> indexes,
+      BatchOrderResult[] results) {
+    try {
+      List<BatchOrderResult> placed =
+          forwarder.placeOrders(owner, indexes.stream().map(orderRequests::get).toList());
+      for (int i = 0; i < indexes.size(); i++) {
+        BatchOrderResult result = placed.get(i);
+        int index = indexes.get(i);
+        results[index] =
+            new BatchOrderResult(index, result.status(), result.order(), result.error());
+      }
+    } catch (RuntimeException e) {
+      for (int index : indexes) {
+        results[index] = BatchOrderResult.rejected(index, statusOf(e), e.getMessage());
+      }
+    }
+  }
+
+  private String violations(OrderRequest orderRequest) {
+    if (orderRequest == null) {
+      return "Order is required";
+    }
+    Set<ConstraintViolation<OrderRequest>> violations = validator.validate(orderRequest);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .collect(Collectors.joining("; "));
+  }
+
+  /** Status the order would have received from the single-order endpoint. */
+  static int statusOf(Throwable failure) {
+    if (failure instanceof InvalidPriceException || failure instanceof IllegalStateException) {
+      return HttpStatus.BAD_REQUEST.value();
+    }
+    if (failure instanceof RiskLimitException) {
+      return HttpStatus.UNPROCESSABLE_ENTITY.value();
+    }
+    if (failure instanceof RestClientResponseException response) {
+      return response.getStatusCode().value();
+    }
+    if (failure instanceof ResourceAccessException) {
+      return HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+    if (failure instanceof MisdirectedRequestException) {
+      return MisdirectedRequestException.STATUS;
+    }
+    return HttpStatus.INTERNAL_SERVER_ERROR.value();
+  }
 }
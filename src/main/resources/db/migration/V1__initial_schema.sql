@@ -0,0 +1,39 @@
+-- Schema previously generated by Hibernate; existing databases are baselined at this version
+create table instruments (
+    id uuid not null,
+    symbol varchar(255) unique,
+    market_price numeric(38, 2),
+    primary key (id)
+);
+
+create table composite_order (
+    composite_id uuid not null,
+    status varchar(255),
+    primary key (composite_id)
+);
+
+create table orders (
+    id uuid not null,
+    trader_id varchar(255),
+    instrument_id uuid references instruments (id),
+    direction varchar(255),
+    type varchar(255),
+    price numeric(38, 2),
+    quantity integer not null,
+    remaining_quantity integer not null,
+    status varchar(255),
+    created_at timestamp(6) with time zone,
+    composite_id uuid references composite_order (composite_id),
+    primary key (id)
+);
+
+create table trades (
+    id uuid not null,
+    instrument_id uuid references instruments (id),
+    buy_order_id uuid references orders (id),
+    sell_order_id uuid references orders (id),
+    price numeric(38, 2),
+    quantity integer not null,
+    timestamp timestamp(6) with time zone,
+    primary key (id)
+);
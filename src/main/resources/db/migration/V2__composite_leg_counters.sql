@@ -0,0 +1,16 @@
+-- Leg counters kept on the composite row by the write-behind persister; composites created
+-- before start with the counts of their stored legs
+alter table composite_order add column leg_count integer not null default 0;
+alter table composite_order add column filled_legs integer not null default 0;
+alter table composite_order add column partially_filled_legs integer not null default 0;
+
+update composite_order c set leg_count = legs.total, filled_legs = legs.filled,
+    partially_filled_legs = legs.partially_filled
+from (select composite_id, count(*) as total,
+             count(*) filter (where status = 'FILLED') as filled,
+             count(*) filter (where status = 'PARTIALLY_FILLED') as partially_filled
+      from orders where composite_id is not null group by composite_id) legs
+where c.composite_id = legs.composite_id;
+
+-- The counter refresh reads the legs of one composite
+create index idx_orders_composite_id on orders (composite_id);
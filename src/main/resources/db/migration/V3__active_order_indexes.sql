@@ -0,0 +1,7 @@
+-- Rebuild only reads active orders and archival only terminal ones, so each scan gets a partial
+-- index that stays as small as the set of rows it serves
+create index idx_orders_active on orders (created_at, id)
+    where status in ('OPEN', 'PARTIALLY_FILLED');
+
+create index idx_orders_terminal on orders (created_at)
+    where status in ('FILLED', 'CANCELLED');
@@ -0,0 +1,18 @@
+-- Filled and cancelled orders moved out of the hot orders table by the archival job
+create table order_history (
+    id uuid not null,
+    trader_id varchar(255),
+    instrument_id uuid,
+    direction varchar(255),
+    type varchar(255),
+    price numeric(38, 2),
+    quantity integer not null,
+    remaining_quantity integer not null,
+    status varchar(255),
+    created_at timestamp(6) with time zone,
+    composite_id uuid,
+    archived_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_order_history_archived_at on order_history (archived_at);
@@ -0,0 +1,41 @@
+-- Trades are range partitioned by month of their timestamp (UTC). Partitions ahead of time are
+-- created by the application; rows outside every partition land in trades_default. Trades no
+-- longer reference orders, which may have been moved to order_history.
+alter table trades rename to trades_unpartitioned;
+alter index if exists trades_pkey rename to trades_unpartitioned_pkey;
+
+create table trades (
+    id uuid not null,
+    instrument_id uuid references instruments (id),
+    buy_order_id uuid,
+    sell_order_id uuid,
+    price numeric(38, 2),
+    quantity integer not null,
+    timestamp timestamp(6) with time zone not null,
+    primary key (id, timestamp)
+) partition by range (timestamp);
+
+create table trades_default partition of trades default;
+
+do $$
+declare
+    month date;
+begin
+    select coalesce(min(date_trunc('month', timestamp at time zone 'UTC')),
+                    date_trunc('month', now() at time zone 'UTC'))::date
+    into month
+    from trades_unpartitioned;
+    while month <= date_trunc('month', now() at time zone 'UTC')::date loop
+        execute format('create table %I partition of trades for values from (%L) to (%L)',
+                       'trades_' || to_char(month, 'YYYY_MM'),
+                       month::timestamp at time zone 'UTC',
+                       (month + interval '1 month') at time zone 'UTC');
+        month := month + interval '1 month';
+    end loop;
+end $$;
+
+insert into trades (id, instrument_id, buy_order_id, sell_order_id, price, quantity, timestamp)
+select id, instrument_id, buy_order_id, sell_order_id, price, quantity, timestamp
+from trades_unpartitioned;
+
+drop table trades_unpartitioned;
@@ -0,0 +1,4 @@
+-- Version of the last change written to a row, see WriteBehindPersister
+alter table orders add column version bigint not null default 0;
+alter table order_history add column version bigint not null default 0;
+alter table instruments add column version bigint not null default 0;
@@ -0,0 +1,12 @@
+-- Stop orders wait in the engine's trigger index until the last trade price reaches stop_price
+alter table orders add column stop_price numeric(38, 2);
+alter table order_history add column stop_price numeric(38, 2);
+
+-- The unfilled remainder of market orders is now cancelled; close the ones left open before
+update orders set status = 'CANCELLED', version = version + 1
+    where type = 'MARKET' and status in ('OPEN', 'PARTIALLY_FILLED');
+
+drop index if exists idx_orders_active;
+
+create index idx_orders_active on orders (created_at, id)
+    where status in ('OPEN', 'PARTIALLY_FILLED', 'AWAITING_TRIGGER');
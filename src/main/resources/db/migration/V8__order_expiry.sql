@@ -0,0 +1,10 @@
+-- Orders that are good till a date or for the day are expired by the engine at expires_at
+alter table orders add column time_in_force varchar(255) not null default 'GOOD_TILL_CANCELLED';
+alter table orders add column expires_at timestamp(6) with time zone;
+alter table order_history add column time_in_force varchar(255);
+alter table order_history add column expires_at timestamp(6) with time zone;
+
+drop index if exists idx_orders_terminal;
+
+create index idx_orders_terminal on orders (created_at)
+    where status in ('FILLED', 'CANCELLED', 'EXPIRED');
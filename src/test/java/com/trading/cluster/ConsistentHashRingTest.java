@@ -0,0 +1,59 @@
+package com.trading.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  private static final List<String> SYMBOLS =
+      IntStream.range(0, 10_000).mapToObj(i -> "SYM" + i).toList();
+
+  @Test
+  void owner_ShouldBeTheSameOnEveryNode() {
+    ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+    ConsistentHashRing reordered =
+        new ConsistentHashRing(List.of("node-3", "node-1", "node-2"), 128);
+
+    for (String symbol : SYMBOLS) {
+      assertEquals(ring.owner(symbol), reordered.owner(symbol));
+    }
+  }
+
+  @Test
+  void owner_ShouldSpreadInstrumentsOverEveryNode() {
+    ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+
+    Map<String, Integer> counts = new HashMap<>();
+    SYMBOLS.forEach(symbol -> counts.merge(ring.owner(symbol), 1, Integer::sum));
+
+    assertEquals(3, counts.size());
+    // A third each, give or take the unevenness of 128 points per node
+    counts.values().forEach(count -> assertTrue(count > 2_500 && count < 4_200, counts::toString));
+  }
+
+  @Test
+  void owner_ShouldOnlyMoveInstrumentsToAnAddedNode() {
+    ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+    ConsistentHashRing grown =
+        new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+
+    int moved = 0;
+    for (String symbol : SYMBOLS) {
+      if (!ring.owner(symbol).equals(grown.owner(symbol))) {
+        assertEquals("node-4", grown.owner(symbol));
+        moved++;
+      }
+    }
+    assertTrue(moved > 1_500 && moved < 3_500, "moved " + moved);
+  }
+
+  @Test
+  void constructor_ShouldRejectAnEmptyRing() {
+    assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 128));
+  }
+}
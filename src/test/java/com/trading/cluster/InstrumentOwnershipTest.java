@@ -0,0 +1,50 @@
+package com.trading.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.trading.config.ClusterProperties;
+import com.trading.config.ClusterProperties.Member;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InstrumentOwnershipTest {
+
+  private static final List<Member> MEMBERS =
+      List.of(
+          new Member("node-1", URI.create("http://localhost:8080")),
+          new Member("node-2", URI.create("http://localhost:8081")));
+
+  @Test
+  void standaloneNode_ShouldOwnEveryInstrument() {
+    InstrumentOwnership ownership = ownership("local", List.of());
+
+    assertFalse(ownership.isClustered());
+    assertTrue(ownership.isLocal("AAPL"));
+    assertEquals("local", ownership.ownerId("AAPL"));
+    assertNull(ownership.owner("AAPL"));
+  }
+
+  @Test
+  void clusteredNodes_ShouldAgreeOnASingleOwner() {
+    InstrumentOwnership first = ownership("node-1", MEMBERS);
+    InstrumentOwnership second = ownership("node-2", MEMBERS);
+
+    for (String symbol : List.of("AAPL", "MSFT", "GOOG", "AMZN", "TSLA", "NVDA")) {
+      assertEquals(first.ownerId(symbol), second.ownerId(symbol));
+      assertNotEquals(first.isLocal(symbol), second.isLocal(symbol));
+      assertEquals(first.ownerId(symbol), first.owner(symbol).id());
+    }
+  }
+
+  @Test
+  void constructor_ShouldRejectANodeMissingFromTheMembers() {
+    assertThrows(IllegalStateException.class, () -> ownership("node-3", MEMBERS));
+  }
+
+  private static InstrumentOwnership ownership(String nodeId, List<Member> members) {
+    return new InstrumentOwnership(
+        new ClusterProperties(nodeId, members, 128, Duration.ofSeconds(5)));
+  }
+}
@@ -2,8 +2,12 @@ package com.trading.controller;
 
 import static com.trading.entity.OrderDirection.BUY;
 import static com.trading.entity.OrderDirection.SELL;
+import static com.trading.entity.OrderType.FILL_OR_KILL;
+import static com.trading.entity.OrderType.IMMEDIATE_OR_CANCEL;
 import static com.trading.entity.OrderType.LIMIT;
 import static com.trading.entity.OrderType.MARKET;
+import static com.trading.entity.OrderType.STOP;
+import static com.trading.entity.OrderType.STOP_LIMIT;
 import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
 import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
 import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.RefreshMode.BEFORE_EACH_TEST_METHOD;
@@ -13,24 +17,43 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.HttpMethod.DELETE;
 
+import com.trading.cluster.ClusterEndpoint;
+import com.trading.config.ArchiveProperties;
+import com.trading.dto.BatchOrderResult;
+import com.trading.dto.CancelResult;
 import com.trading.dto.CompositeInstrumentRequest;
 import com.trading.dto.CompositeOrderRequest;
+import com.trading.dto.CompositeOrderResult;
 import com.trading.dto.OrderRequest;
 import com.trading.dto.OrderResponse;
+import com.trading.dto.QuoteReplaceRequest;
+import com.trading.dto.QuoteReplaceResult;
+import com.trading.engine.BookSnapshot;
+import com.trading.engine.EngineEvent.OrderUpdated;
 import com.trading.entity.*;
+import com.trading.persistence.OrderArchiver;
+import com.trading.persistence.WriteBehindPersister;
+import com.trading.repository.CompositeOrderRepository;
 import com.trading.repository.TradeRepository;
 import com.trading.service.CompositeOrderService;
+import com.trading.service.InstrumentCache;
+import com.trading.service.OrderBookService;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 @ActiveProfiles("test")
@@ -41,12 +64,31 @@ class OrderControllerIntegrationTest {
   public static final String ORDERS = "/api/orders";
   public static final String ORDERS_COMPOSITE_STATUS = "/api/orders/composite/%s/status";
   public static final String ORDERS_COMPOSITE = "/api/orders/composite";
+  public static final String ORDERS_COMPOSITE_LEGS = "/api/orders/composite/legs";
+  public static final String BOOK = "/api/instruments/%s/book";
   @Autowired private TestRestTemplate restTemplate;
 
   @Autowired private CompositeOrderService compositeOrderService;
 
   @Autowired private TradeRepository tradeRepository;
 
+  @Autowired private CompositeOrderRepository compositeOrderRepository;
+
+  @Autowired private OrderBookService orderBookService;
+
+  @Autowired private InstrumentCache instrumentCache;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private WriteBehindPersister persister;
+
+  @BeforeEach
+  void rebuildOrderBooks() {
+    // The embedded database is refreshed before each test while the context is reused
+    instrumentCache.invalidateAll();
+    orderBookService.rebuild();
+  }
+
   @Test
   void placeAndCancelOrder_ShouldWorkCorrectly() {
     OrderRequest request =
@@ -86,6 +128,16 @@ class OrderControllerIntegrationTest {
         false);
   }
 
+  @Test
+  void placeOrderOffTickGrid_ShouldReturnBadRequest() {
+    var request = new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.005"));
+    var response = restTemplate.postForEntity(ORDERS, request, String.class);
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals(
+        "Price 150.005 is not a multiple of the tick size 0.01 of AAPL", response.getBody());
+  }
+
   @Test
   void shouldMatchBuyAndSellOrders() {
     var buyRequest = new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.0"));
@@ -141,10 +193,10 @@ class OrderControllerIntegrationTest {
         "Trade should execute at best buy price");
     assertEquals(100, trade.getQuantity());
 
-    assertEquals(BUY, trade.getBuyOrder().getDirection());
+    OrderResponse buyOrder = getOrder(trade.getBuyOrderId());
+    assertEquals(BUY, buyOrder.direction());
     assertEquals(
-        new BigDecimal("150.0").stripTrailingZeros(),
-        trade.getBuyOrder().getPrice().stripTrailingZeros());
+        new BigDecimal("150.0").stripTrailingZeros(), buyOrder.price().stripTrailingZeros());
     assertOrderStatus(sellOrder.orderId(), OrderStatus.FILLED);
   }
 
@@ -175,6 +227,97 @@ class OrderControllerIntegrationTest {
     status =
         getForObject(ORDERS_COMPOSITE_STATUS.formatted(compositeId), CompositeOrderStatus.class);
     assertEquals(CompositeOrderStatus.FILLED, status);
+
+    // counters are maintained on the composite row
+    CompositeOrder composite = compositeOrderRepository.findById(compositeId).orElseThrow();
+    assertEquals(2, composite.getLegCount());
+    assertEquals(2, composite.getFilledLegs());
+    assertEquals(0, composite.getPartiallyFilledLegs());
+  }
+
+  @Test
+  void shouldPlaceNoLegOfAllOrNoneCompositeWhenOneIsInvalid() {
+    var instruments =
+        List.of(
+            new CompositeInstrumentRequest("AAPL", 100, BUY, LIMIT, new BigDecimal("150.00")),
+            new CompositeInstrumentRequest("MSFT", 200, BUY, LIMIT, new BigDecimal("300.001")));
+    var request = new CompositeOrderRequest(instruments, "TRADER1", true);
+
+    var response = restTemplate.postForEntity(ORDERS_COMPOSITE, request, String.class);
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals(List.of(), getForObject(BOOK.formatted("AAPL"), BookSnapshot.class).bids());
+  }
+
+  @Test
+  void shouldPlaceNoLegOfAllOrNoneCompositeWhenTheBookCannotFillOne() {
+    var instruments =
+        List.of(
+            new CompositeInstrumentRequest("AAPL", 100, BUY, LIMIT, new BigDecimal("150.00")),
+            new CompositeInstrumentRequest("MSFT", 200, BUY, MARKET, null));
+    var request = new CompositeOrderRequest(instruments, "TRADER1", true);
+
+    var response = restTemplate.postForEntity(ORDERS_COMPOSITE, request, String.class);
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertThat(response.getBody()).contains("cannot fill");
+    assertEquals(List.of(), getForObject(BOOK.formatted("AAPL"), BookSnapshot.class).bids());
+  }
+
+  @Test
+  void shouldReturnTheOutcomeOfEachLegOfCompositeWithRejectedLeg() {
+    var instruments =
+        List.of(
+            new CompositeInstrumentRequest("AAPL", 100, BUY, LIMIT, new BigDecimal("150.00")),
+            new CompositeInstrumentRequest("MSFT", 200, BUY, LIMIT, new BigDecimal("300.001")));
+    var request = new CompositeOrderRequest(instruments, "TRADER1");
+
+    var response =
+        restTemplate.postForEntity(ORDERS_COMPOSITE_LEGS, request, CompositeOrderResult.class);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    CompositeOrderResult result = response.getBody();
+    assertNotNull(result);
+    assertNotNull(result.compositeId());
+    assertEquals(List.of(201, 400), result.legs().stream().map(BatchOrderResult::status).toList());
+    assertThat(result.legs().get(1).error()).contains("tick size");
+    assertOrderStatus(result.legs().get(0).order().orderId(), OrderStatus.OPEN);
+  }
+
+  @Test
+  void shouldCompleteCompositeOrderWhenAllAcceptedLegsFilled() {
+    var instruments =
+        List.of(
+            new CompositeInstrumentRequest("AAPL", 100, BUY, LIMIT, new BigDecimal("150.00")),
+            new CompositeInstrumentRequest("MSFT", 200, BUY, LIMIT, new BigDecimal("300.001")));
+    var request = new CompositeOrderRequest(instruments, "TRADER1");
+    var result =
+        restTemplate.postForObject(ORDERS_COMPOSITE_LEGS, request, CompositeOrderResult.class);
+
+    placeOrder(new OrderRequest("TRADER2", "AAPL", SELL, LIMIT, 100, new BigDecimal("150.00")));
+
+    var status =
+        getForObject(
+            ORDERS_COMPOSITE_STATUS.formatted(result.compositeId()), CompositeOrderStatus.class);
+    assertEquals(CompositeOrderStatus.FILLED, status);
+    CompositeOrder composite =
+        compositeOrderRepository.findById(result.compositeId()).orElseThrow();
+    assertEquals(1, composite.getLegCount());
+    assertEquals(1, composite.getFilledLegs());
+  }
+
+  @Test
+  void shouldRejectCompositeWithRejectedLegWithTheErrorOfThatLeg() {
+    var instruments =
+        List.of(
+            new CompositeInstrumentRequest("AAPL", 100, BUY, LIMIT, new BigDecimal("150.00")),
+            new CompositeInstrumentRequest("MSFT", 200, BUY, LIMIT, new BigDecimal("300.001")));
+    var request = new CompositeOrderRequest(instruments, "TRADER1");
+
+    var response = restTemplate.postForEntity(ORDERS_COMPOSITE, request, String.class);
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertThat(response.getBody()).contains("tick size");
   }
 
   @Test
@@ -194,6 +337,35 @@ class OrderControllerIntegrationTest {
     assertEquals("Cannot cancel a non-open order", exchange.getBody());
   }
 
+  @Test
+  void shouldCancelRemainderOfPartiallyFilledOrder() {
+    var buy =
+        placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 500, new BigDecimal("150.00")));
+    placeOrder(new OrderRequest("TRADER2", "AAPL", SELL, LIMIT, 200, new BigDecimal("150.00")));
+
+    var cancel = restTemplate.exchange(ORDERS + "/" + buy.orderId(), DELETE, null, String.class);
+
+    assertEquals(HttpStatus.OK, cancel.getStatusCode());
+    assertOrderStatus(buy.orderId(), OrderStatus.CANCELLED);
+    assertEquals(List.of(), getForObject(BOOK.formatted("AAPL"), BookSnapshot.class).bids());
+    assertEquals(2L, orderVersion(buy.orderId()));
+    assertEquals(1, tradeRepository.count());
+  }
+
+  @Test
+  void shouldSkipStaleOrderUpdates() {
+    var buy =
+        placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 500, new BigDecimal("150.00")));
+    placeOrder(new OrderRequest("TRADER2", "AAPL", SELL, LIMIT, 500, new BigDecimal("150.00")));
+
+    UUID orderId = buy.orderId();
+    persister.onEvent(new OrderUpdated(orderId, "TRADER1", "AAPL", 500, OrderStatus.OPEN, null, 0));
+    persister.barrier().join();
+
+    assertOrderStatus(buy.orderId(), OrderStatus.FILLED);
+    assertEquals(1L, orderVersion(buy.orderId()));
+  }
+
   @Test
   void shouldReturnErrorWhenCancelingNonExistingOrder() {
     UUID nonExistentOrderId = UUID.randomUUID();
@@ -220,25 +392,338 @@ class OrderControllerIntegrationTest {
     assertEquals(1, trades.size(), "Should execute one trade");
 
     var trade = trades.getFirst();
-    assertEquals(response.orderId(), trade.getSellOrder().getId().toString());
+    assertEquals(response.orderId(), trade.getSellOrderId());
     assertEquals(
         new BigDecimal("150.0").stripTrailingZeros(), trade.getPrice().stripTrailingZeros());
   }
 
+  @Test
+  void shouldCancelWhatImmediateOrCancelAndFillOrKillOrdersCannotFillAtOnce() {
+    placeOrder(new OrderRequest("TRADER1", "AAPL", SELL, LIMIT, 40, new BigDecimal("150.00")));
+
+    var fillOrKill =
+        placeOrder(
+            new OrderRequest("TRADER2", "AAPL", BUY, FILL_OR_KILL, 100, new BigDecimal("150.00")));
+    assertEquals(OrderStatus.CANCELLED, fillOrKill.status());
+    assertEquals(0, tradeRepository.count());
+
+    var immediateOrCancel =
+        placeOrder(
+            new OrderRequest(
+                "TRADER2", "AAPL", BUY, IMMEDIATE_OR_CANCEL, 100, new BigDecimal("150.00")));
+    assertOrderStatus(immediateOrCancel.orderId(), OrderStatus.CANCELLED);
+    assertEquals(1, tradeRepository.count());
+
+    BookSnapshot book = getForObject(BOOK.formatted("AAPL"), BookSnapshot.class);
+    assertEquals(List.of(), book.bids());
+    assertEquals(List.of(), book.asks());
+  }
+
+  @Test
+  void shouldTriggerStopOrdersWhenTheLastTradeReachesTheirStopPrice() {
+    var stop =
+        placeOrder(
+            new OrderRequest("TRADER1", "AAPL", SELL, STOP, 100, null, new BigDecimal("149.50")));
+    var stopLimit =
+        placeOrder(
+            new OrderRequest(
+                "TRADER1",
+                "AAPL",
+                BUY,
+                STOP_LIMIT,
+                10,
+                new BigDecimal("151.00"),
+                new BigDecimal("151.00")));
+    assertEquals(OrderStatus.AWAITING_TRIGGER, stop.status());
+    assertEquals(new BigDecimal("149.50"), stop.stopPrice());
+
+    placeOrder(new OrderRequest("TRADER2", "AAPL", BUY, LIMIT, 200, new BigDecimal("149.50")));
+    placeOrder(new OrderRequest("TRADER3", "AAPL", SELL, LIMIT, 50, new BigDecimal("149.50")));
+
+    assertOrderStatus(stop.orderId(), OrderStatus.FILLED);
+    assertEquals(2, tradeRepository.count());
+    assertEquals(
+        List.of(new BookSnapshot.Level(new BigDecimal("149.50"), 50, 1)),
+        getForObject(BOOK.formatted("AAPL"), BookSnapshot.class).bids());
+
+    var cancel =
+        restTemplate.exchange(ORDERS + "/" + stopLimit.orderId(), DELETE, null, String.class);
+    assertEquals(HttpStatus.OK, cancel.getStatusCode());
+    assertOrderStatus(stopLimit.orderId(), OrderStatus.CANCELLED);
+  }
+
+  @Test
+  void shouldExpireGoodTillDateAndDayOrdersAtTheEndOfTheirTimeInForce() {
+    Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+    var goodTillDate =
+        placeOrder(
+            new OrderRequest(
+                "TRADER1",
+                "AAPL",
+                BUY,
+                LIMIT,
+                100,
+                new BigDecimal("150.00"),
+                null,
+                TimeInForce.GOOD_TILL_DATE,
+                expiresAt));
+    var day =
+        placeOrder(
+            new OrderRequest(
+                "TRADER2",
+                "AAPL",
+                SELL,
+                LIMIT,
+                100,
+                new BigDecimal("151.00"),
+                null,
+                TimeInForce.DAY,
+                null));
+    assertEquals(expiresAt, goodTillDate.expiresAt());
+    assertNotNull(day.expiresAt());
+
+    assertEquals(0, orderBookService.expireOrders(Instant.now()));
+    assertEquals(2, orderBookService.expireOrders(Instant.now().plus(Duration.ofDays(2))));
+    persister.barrier().join();
+
+    assertOrderStatus(goodTillDate.orderId(), OrderStatus.EXPIRED);
+    assertOrderStatus(day.orderId(), OrderStatus.EXPIRED);
+    BookSnapshot book = getForObject(BOOK.formatted("AAPL"), BookSnapshot.class);
+    assertEquals(List.of(), book.bids());
+    assertEquals(List.of(), book.asks());
+
+    var expired =
+        restTemplate.postForEntity(
+            ORDERS,
+            new OrderRequest(
+                "TRADER1",
+                "AAPL",
+                BUY,
+                LIMIT,
+                100,
+                new BigDecimal("150.00"),
+                null,
+                TimeInForce.GOOD_TILL_DATE,
+                Instant.now().minusSeconds(1)),
+            String.class);
+    assertEquals(HttpStatus.BAD_REQUEST, expired.getStatusCode());
+  }
+
+  @Test
+  void cancelOrders_ShouldCancelTheOrdersOfATraderInOneOrEveryInstrument() {
+    var apple =
+        placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.00")));
+    var appleStop =
+        placeOrder(
+            new OrderRequest("TRADER1", "AAPL", SELL, STOP, 100, null, new BigDecimal("149.00")));
+    var microsoft =
+        placeOrder(new OrderRequest("TRADER1", "MSFT", SELL, LIMIT, 50, new BigDecimal("300.00")));
+    var other =
+        placeOrder(new OrderRequest("TRADER2", "AAPL", BUY, LIMIT, 100, new BigDecimal("149.50")));
+
+    ResponseEntity<CancelResult[]> inApple =
+        restTemplate.exchange(
+            ORDERS + "?traderId=TRADER1&symbol=AAPL", DELETE, null, CancelResult[].class);
+
+    assertEquals(HttpStatus.OK, inApple.getStatusCode());
+    assertNotNull(inApple.getBody());
+    assertThat(Arrays.stream(inApple.getBody()).map(result -> result.order().orderId()))
+        .containsExactlyInAnyOrder(apple.orderId(), appleStop.orderId());
+    assertOrderStatus(apple.orderId(), OrderStatus.CANCELLED);
+    assertOrderStatus(appleStop.orderId(), OrderStatus.CANCELLED);
+    assertOrderStatus(microsoft.orderId(), OrderStatus.OPEN);
+
+    ResponseEntity<CancelResult[]> everywhere =
+        restTemplate.exchange(ORDERS + "?traderId=TRADER1", DELETE, null, CancelResult[].class);
+
+    assertNotNull(everywhere.getBody());
+    assertEquals(1, everywhere.getBody().length);
+    assertEquals(200, everywhere.getBody()[0].status());
+    assertEquals(OrderStatus.CANCELLED, everywhere.getBody()[0].order().status());
+    assertOrderStatus(microsoft.orderId(), OrderStatus.CANCELLED);
+    assertOrderStatus(other.orderId(), OrderStatus.OPEN);
+  }
+
+  @Test
+  void replaceOrders_ShouldSwapTheQuotesOfATraderInOneStep() {
+    var oldBid =
+        placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("149.00")));
+    var oldAsk =
+        placeOrder(new OrderRequest("TRADER1", "AAPL", SELL, LIMIT, 100, new BigDecimal("151.00")));
+    placeOrder(new OrderRequest("TRADER2", "AAPL", SELL, LIMIT, 30, new BigDecimal("150.50")));
+
+    var request =
+        new QuoteReplaceRequest(
+            "TRADER1",
+            "AAPL",
+            List.of(
+                new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.50")),
+                new OrderRequest("TRADER1", "AAPL", SELL, LIMIT, 100, new BigDecimal("151.50"))));
+    ResponseEntity<QuoteReplaceResult> response =
+        restTemplate.postForEntity(ORDERS + "/replace", request, QuoteReplaceResult.class);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    QuoteReplaceResult result = response.getBody();
+    assertNotNull(result);
+    assertThat(result.cancelled().stream().map(OrderResponse::orderId))
+        .containsExactlyInAnyOrder(oldBid.orderId(), oldAsk.orderId());
+    assertEquals(OrderStatus.PARTIALLY_FILLED, result.placed().get(0).status());
+    assertEquals(OrderStatus.OPEN, result.placed().get(1).status());
+    assertOrderStatus(oldBid.orderId(), OrderStatus.CANCELLED);
+    assertOrderStatus(oldAsk.orderId(), OrderStatus.CANCELLED);
+    BookSnapshot book = getForObject(BOOK.formatted("AAPL"), BookSnapshot.class);
+    assertEquals(List.of(new BookSnapshot.Level(new BigDecimal("150.50"), 70, 1)), book.bids());
+    assertEquals(List.of(new BookSnapshot.Level(new BigDecimal("151.50"), 100, 1)), book.asks());
+
+    var offTick =
+        new QuoteReplaceRequest(
+            "TRADER1",
+            "AAPL",
+            List.of(
+                new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.00")),
+                new OrderRequest("TRADER1", "AAPL", SELL, LIMIT, 100, new BigDecimal("150.001"))));
+    var rejected = restTemplate.postForEntity(ORDERS + "/replace", offTick, String.class);
+
+    assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+    assertOrderStatus(result.placed().get(1).orderId(), OrderStatus.OPEN);
+  }
+
+  @Test
+  void placeBatch_ShouldMatchValidOrdersAndRejectInvalidOnesIndividually() {
+    List<OrderRequest> batch =
+        List.of(
+            new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.00")),
+            new OrderRequest("TRADER2", "MSFT", SELL, LIMIT, 50, new BigDecimal("300.00")),
+            new OrderRequest("", "AAPL", SELL, LIMIT, 0, new BigDecimal("150.00")),
+            new OrderRequest("TRADER3", "AAPL", SELL, LIMIT, 100, new BigDecimal("150.001")),
+            new OrderRequest("TRADER3", "AAPL", SELL, LIMIT, 100, new BigDecimal("150.00")),
+            new OrderRequest("TRADER4", "AAPL", SELL, LIMIT, null, new BigDecimal("150.00")));
+
+    ResponseEntity<BatchOrderResult[]> response =
+        restTemplate.postForEntity(ORDERS + "/batch", batch, BatchOrderResult[].class);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    BatchOrderResult[] results = response.getBody();
+    assertNotNull(results);
+    assertEquals(6, results.length);
+    assertEquals(List.of(201, 201, 400, 400, 201, 400), statuses(results));
+    assertEquals(
+        "quantity: Minimum quantity is 1; traderId: Trader ID is required", results[2].error());
+    assertThat(results[3].error()).contains("tick size");
+    assertEquals("quantity: Quantity is required", results[5].error());
+
+    assertOrderStatus(results[0].order().orderId(), OrderStatus.FILLED);
+    assertOrderStatus(results[1].order().orderId(), OrderStatus.OPEN);
+    assertOrderStatus(results[4].order().orderId(), OrderStatus.FILLED);
+  }
+
+  @Test
+  void getBook_ShouldReturnAggregatedLevels() {
+    placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.00")));
+    placeOrder(new OrderRequest("TRADER2", "AAPL", BUY, LIMIT, 50, new BigDecimal("150.00")));
+    placeOrder(new OrderRequest("TRADER3", "AAPL", BUY, LIMIT, 70, new BigDecimal("149.50")));
+    placeOrder(new OrderRequest("TRADER4", "AAPL", SELL, LIMIT, 30, new BigDecimal("150.00")));
+    var ask =
+        placeOrder(new OrderRequest("TRADER5", "AAPL", SELL, LIMIT, 20, new BigDecimal("151.00")));
+    restTemplate.exchange(ORDERS + "/" + ask.orderId(), DELETE, null, Void.class);
+
+    BookSnapshot book = getForObject(BOOK.formatted("AAPL") + "?depth=1", BookSnapshot.class);
+
+    assertEquals(List.of(new BookSnapshot.Level(new BigDecimal("150.00"), 120, 2)), book.bids());
+    assertEquals(List.of(), book.asks());
+  }
+
+  @Test
+  void rebuild_ShouldRestoreRestingOrdersInArrivalOrder() {
+    var first =
+        placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.00")));
+    placeOrder(new OrderRequest("TRADER2", "AAPL", BUY, LIMIT, 50, new BigDecimal("150.00")));
+    placeOrder(new OrderRequest("TRADER3", "AAPL", SELL, LIMIT, 70, new BigDecimal("151.00")));
+
+    orderBookService.rebuild();
+    placeOrder(new OrderRequest("TRADER4", "AAPL", SELL, LIMIT, 100, new BigDecimal("150.00")));
+
+    assertOrderStatus(first.orderId(), OrderStatus.FILLED);
+    BookSnapshot book = getForObject(BOOK.formatted("AAPL"), BookSnapshot.class);
+    assertEquals(List.of(new BookSnapshot.Level(new BigDecimal("150.00"), 50, 1)), book.bids());
+    assertEquals(List.of(new BookSnapshot.Level(new BigDecimal("151.00"), 70, 1)), book.asks());
+  }
+
+  @Test
+  void archiveOrders_ShouldMoveTerminalOrdersToHistory() {
+    var buy =
+        placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.00")));
+    var sell =
+        placeOrder(new OrderRequest("TRADER2", "AAPL", SELL, LIMIT, 60, new BigDecimal("150.00")));
+    var archiver =
+        new OrderArchiver(
+            jdbcTemplate, new ArchiveProperties(true, Duration.ZERO, Duration.ofMinutes(1), 1, 2));
+
+    assertEquals(1, archiver.archiveOrders());
+
+    assertOrderStatus(sell.orderId(), OrderStatus.FILLED);
+    assertOrderStatus(buy.orderId(), OrderStatus.PARTIALLY_FILLED);
+    var cancel = restTemplate.exchange(ORDERS + "/" + sell.orderId(), DELETE, null, String.class);
+    assertEquals(HttpStatus.BAD_REQUEST, cancel.getStatusCode());
+    // Trades of archived orders still load
+    assertEquals(sell.orderId(), tradeRepository.findAll().getFirst().getSellOrderId());
+  }
+
+  @Test
+  void getBook_ShouldRejectOutOfRangeDepth() {
+    var response = restTemplate.getForEntity(BOOK.formatted("AAPL") + "?depth=0", String.class);
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+  }
+
+  @Test
+  void shouldExposeEngineMetrics() {
+    placeOrder(new OrderRequest("TRADER1", "AAPL", BUY, LIMIT, 100, new BigDecimal("150.0")));
+
+    String names = getForObject("/actuator/metrics", String.class);
+    assertThat(names)
+        .contains("trading.order.latency")
+        .contains("trading.match.duration")
+        .contains("trading.order.fills")
+        .contains("trading.engine.queue.depth")
+        .contains("trading.persistence.flush");
+
+    var depth =
+        restTemplate.getForEntity(
+            "/actuator/metrics/trading.book.depth?tag=symbol:AAPL&tag=side:buy", String.class);
+    assertEquals(HttpStatus.OK, depth.getStatusCode());
+  }
+
+  @Test
+  void clusterEndpoint_ShouldReportEveryInstrumentAsLocalOnAStandaloneNode() {
+    var owner = restTemplate.getForObject("/actuator/cluster/AAPL", ClusterEndpoint.Owner.class);
+
+    assertEquals(new ClusterEndpoint.Owner("AAPL", "local", true), owner);
+  }
+
+  private Long orderVersion(UUID orderId) {
+    return jdbcTemplate.queryForObject(
+        "select version from orders where id = ?", Long.class, orderId);
+  }
+
+  private static List<Integer> statuses(BatchOrderResult[] results) {
+    return Arrays.stream(results).map(BatchOrderResult::status).toList();
+  }
+
   private OrderResponse placeOrder(OrderRequest request) {
     return restTemplate.postForObject(ORDERS, request, OrderResponse.class);
   }
 
-  private void assertOrderStatus(String orderId, OrderStatus expectedStatus) {
+  private void assertOrderStatus(UUID orderId, OrderStatus expectedStatus) {
     OrderResponse order = getOrder(orderId);
     assertEquals(expectedStatus, order.status());
   }
 
-  private Integer getOrderQuantity(String orderId) {
+  private Integer getOrderQuantity(UUID orderId) {
     return getOrder(orderId).quantity();
   }
 
-  private OrderResponse getOrder(String orderId) {
+  private OrderResponse getOrder(UUID orderId) {
     return restTemplate.getForObject("/api/orders/" + orderId, OrderResponse.class);
   }
 
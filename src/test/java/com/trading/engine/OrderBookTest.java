@@ -0,0 +1,251 @@
+package com.trading.engine;
+
+import static com.trading.entity.OrderDirection.BUY;
+import static com.trading.entity.OrderDirection.SELL;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class OrderBookTest {
+
+  private final OrderBook book =
+      new OrderBook("AAPL", PriceScale.ofTickSize(new BigDecimal("0.01")));
+
+  @Test
+  void match_ShouldFillBestPriceFirstThenTimePriority() {
+    OrderEntity first = rest(SELL, "101.00", 100);
+    OrderEntity best = rest(SELL, "100.00", 50);
+    OrderEntity second = rest(SELL, "101.00", 100);
+
+    List<String> fills = new ArrayList<>();
+    OrderEntity buy = order(BUY, "101.00", 200);
+    book.match(buy, (resting, price, quantity) -> fills.add(describe(resting, price, quantity)));
+
+    assertEquals(
+        List.of(
+            describe(best, new BigDecimal("100.00"), 50),
+            describe(first, new BigDecimal("101.00"), 100),
+            describe(second, new BigDecimal("101.00"), 50)),
+        fills);
+    assertEquals(0, buy.getRemainingQuantity());
+    assertEquals(50, second.getRemainingQuantity());
+    assertTrue(book.contains(second.getId()));
+    assertFalse(book.contains(first.getId()));
+    assertEquals(1, book.size());
+  }
+
+  @Test
+  void match_ShouldStopAtFirstNonCrossingLevel() {
+    rest(BUY, "99.00", 100);
+    OrderEntity sell = order(SELL, "100.00", 100);
+
+    book.match(sell, (resting, price, quantity) -> fail("Should not trade"));
+
+    assertEquals(100, sell.getRemainingQuantity());
+    assertEquals(1, book.size());
+  }
+
+  @Test
+  void match_ShouldSweepAllLevelsForMarketOrder() {
+    rest(BUY, "99.00", 100);
+    rest(BUY, "98.00", 100);
+    OrderEntity sell = order(SELL, null, 300);
+
+    List<Long> prices = new ArrayList<>();
+    book.match(sell, (resting, price, quantity) -> prices.add(price));
+
+    assertEquals(List.of(9900L, 9800L), prices);
+    assertEquals(100, sell.getRemainingQuantity());
+    assertEquals(0, book.size());
+  }
+
+  @Test
+  void remove_ShouldTakeOrderOutOfItsLevel() {
+    OrderEntity order = rest(BUY, "99.00", 100);
+
+    assertSame(order, book.remove(order.getId()));
+    assertNull(book.remove(order.getId()));
+
+    book.match(order(SELL, "99.00", 100), (resting, price, quantity) -> fail("Should not trade"));
+  }
+
+  @Test
+  void depth_ShouldTrackRestingOrdersAndLevelsPerSide() {
+    rest(BUY, "99.00", 100);
+    rest(BUY, "99.00", 100);
+    rest(BUY, "98.00", 100);
+    OrderEntity ask = rest(SELL, "101.00", 100);
+
+    assertEquals(2, book.match(order(SELL, "99.00", 150), (resting, price, quantity) -> {}));
+    book.remove(ask.getId());
+
+    assertEquals(2, book.depth(BUY));
+    assertEquals(2, book.levels(BUY));
+    assertEquals(0, book.depth(SELL));
+    assertEquals(0, book.levels(SELL));
+  }
+
+  @Test
+  void snapshot_ShouldAggregateBestLevelsAfterFillsAndRemovals() {
+    rest(BUY, "99.00", 100);
+    OrderEntity cancelled = rest(BUY, "99.00", 100);
+    rest(BUY, "99.00", 100);
+    rest(BUY, "98.00", 40);
+    rest(BUY, "97.00", 10);
+    rest(SELL, "101.00", 70);
+
+    book.match(order(SELL, "99.00", 30), (resting, price, quantity) -> {});
+    book.remove(cancelled.getId());
+
+    BookSnapshot snapshot = book.snapshot(2);
+    assertEquals(
+        List.of(
+            new BookSnapshot.Level(new BigDecimal("99.00"), 170, 2),
+            new BookSnapshot.Level(new BigDecimal("98.00"), 40, 1)),
+        snapshot.bids());
+    assertEquals(List.of(new BookSnapshot.Level(new BigDecimal("101.00"), 70, 1)), snapshot.asks());
+  }
+
+  @Test
+  void add_ShouldRejectPriceOffTickGrid() {
+    assertThrows(IllegalArgumentException.class, () -> book.add(order(BUY, "99.005", 100)));
+    assertEquals(0, book.size());
+  }
+
+  @Test
+  void canFill_ShouldOnlyCountCrossingLevelsWithoutChangingTheBook() {
+    rest(SELL, "100.00", 50);
+    rest(SELL, "101.00", 50);
+    rest(SELL, "102.00", 50);
+
+    assertTrue(book.canFill(order(BUY, "101.00", 100)));
+    assertFalse(book.canFill(order(BUY, "101.00", 101)));
+    assertTrue(book.canFill(order(BUY, null, 150)));
+    assertFalse(book.canFill(order(BUY, null, 151)));
+    assertEquals(3, book.size());
+  }
+
+  @Test
+  void triggerStops_ShouldReleaseCrossedStopsNearestFirst() {
+    OrderEntity farBuy = stop(BUY, "103.00");
+    OrderEntity nearBuy = stop(BUY, "101.00");
+    OrderEntity secondNearBuy = stop(BUY, "101.00");
+    OrderEntity sell = stop(SELL, "99.00");
+
+    List<OrderEntity> triggered = new ArrayList<>();
+    book.triggerStops(10200, triggered::add);
+
+    assertEquals(List.of(nearBuy, secondNearBuy), triggered);
+    assertTrue(book.contains(farBuy.getId()));
+    assertTrue(book.contains(sell.getId()));
+    assertFalse(book.contains(nearBuy.getId()));
+    assertTrue(book.hasStops());
+    assertEquals(0, book.size());
+
+    triggered.clear();
+    book.triggerStops(9900, triggered::add);
+
+    assertEquals(List.of(sell), triggered);
+  }
+
+  @Test
+  void remove_ShouldTakeStopOutOfTheTriggerIndex() {
+    OrderEntity stop = stop(SELL, "99.00");
+
+    assertSame(stop, book.get(stop.getId()));
+    assertSame(stop, book.remove(stop.getId()));
+    assertFalse(book.hasStops());
+
+    book.triggerStops(9800, triggered -> fail("Should not trigger"));
+  }
+
+  @Test
+  void expire_ShouldRemoveOrdersWhoseExpiryTimeHasPassed() {
+    Instant now = Instant.now();
+    OrderEntity expiring = order(BUY, "99.00", 100);
+    expiring.setExpiresAt(now.plusSeconds(60));
+    book.add(expiring);
+    OrderEntity filled = order(SELL, "101.00", 100);
+    filled.setExpiresAt(now.plusSeconds(60));
+    book.add(filled);
+    OrderEntity stop = order(SELL, null, 100);
+    stop.setStopPrice(new BigDecimal("98.00"));
+    stop.setExpiresAt(now.plusSeconds(120));
+    book.addStop(stop);
+    rest(BUY, "98.00", 100);
+    book.match(order(BUY, "101.00", 100), (resting, price, quantity) -> {});
+
+    List<OrderEntity> expired = new ArrayList<>();
+    assertEquals(0, book.expire(now.plusSeconds(59).toEpochMilli(), expired::add));
+    assertEquals(1, book.expire(now.plusSeconds(61).toEpochMilli(), expired::add));
+    assertEquals(1, book.expire(now.plusSeconds(121).toEpochMilli(), expired::add));
+
+    assertEquals(List.of(expiring, stop), expired);
+    assertEquals(1, book.size());
+    assertFalse(book.hasStops());
+  }
+
+  @Test
+  void ordersOf_ShouldFollowTheRestingAndWaitingOrdersOfATrader() {
+    OrderEntity bid = order(BUY, "99.00", 100);
+    bid.setTraderId("TRADER1");
+    book.add(bid);
+    OrderEntity ask = order(SELL, "101.00", 100);
+    ask.setTraderId("TRADER1");
+    book.add(ask);
+    OrderEntity stop = order(SELL, null, 100);
+    stop.setTraderId("TRADER1");
+    stop.setStopPrice(new BigDecimal("98.00"));
+    book.addStop(stop);
+    OrderEntity other = order(BUY, "98.00", 100);
+    other.setTraderId("TRADER2");
+    book.add(other);
+
+    assertEquals(List.of(bid, ask, stop), book.ordersOf("TRADER1"));
+
+    book.match(order(BUY, "101.00", 100), (resting, price, quantity) -> {});
+    book.remove(stop.getId());
+
+    assertEquals(List.of(bid), book.ordersOf("TRADER1"));
+    assertEquals(List.of(other), book.ordersOf("TRADER2"));
+    assertEquals(List.of(), book.ordersOf("TRADER3"));
+  }
+
+  private OrderEntity rest(OrderDirection direction, String price, int quantity) {
+    OrderEntity order = order(direction, price, quantity);
+    book.add(order);
+    return order;
+  }
+
+  private OrderEntity stop(OrderDirection direction, String stopPrice) {
+    OrderEntity order = order(direction, null, 100);
+    order.setStopPrice(new BigDecimal(stopPrice));
+    book.addStop(order);
+    return order;
+  }
+
+  private static OrderEntity order(OrderDirection direction, String price, int quantity) {
+    OrderEntity order = new OrderEntity();
+    order.setId(UUID.randomUUID());
+    order.setDirection(direction);
+    order.setPrice(price == null ? null : new BigDecimal(price));
+    order.setQuantity(quantity);
+    order.setRemainingQuantity(quantity);
+    return order;
+  }
+
+  private String describe(OrderEntity resting, long price, int quantity) {
+    return describe(resting, book.getPriceScale().toDecimal(price), quantity);
+  }
+
+  private static String describe(OrderEntity resting, BigDecimal price, int quantity) {
+    return resting.getId() + "@" + price + "x" + quantity;
+  }
+}
@@ -0,0 +1,36 @@
+package com.trading.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class PriceScaleTest {
+
+  @Test
+  void ofTickSize_ShouldUseTheDecimalsOfTheTick() {
+    assertEquals(new PriceScale(2, 1), PriceScale.ofTickSize(new BigDecimal("0.010")));
+    assertEquals(new PriceScale(2, 5), PriceScale.ofTickSize(new BigDecimal("0.05")));
+    assertEquals(new PriceScale(0, 10), PriceScale.ofTickSize(new BigDecimal("10")));
+  }
+
+  @Test
+  void toFixed_ShouldRoundTripPricesOnTheGrid() {
+    PriceScale scale = PriceScale.ofTickSize(new BigDecimal("0.05"));
+
+    assertEquals(15005, scale.toFixed(new BigDecimal("150.05")));
+    assertEquals(15000, scale.toFixed(new BigDecimal("150")));
+    assertEquals(new BigDecimal("150.05"), scale.toDecimal(15005));
+  }
+
+  @Test
+  void isOnTick_ShouldRejectPricesBetweenTicksOrWithExtraDecimals() {
+    PriceScale scale = PriceScale.ofTickSize(new BigDecimal("0.05"));
+
+    assertTrue(scale.isOnTick(new BigDecimal("150.100")));
+    assertFalse(scale.isOnTick(new BigDecimal("150.01")));
+    assertFalse(scale.isOnTick(new BigDecimal("150.051")));
+    assertFalse(scale.isOnTick(new BigDecimal("1e20")));
+    assertThrows(IllegalArgumentException.class, () -> scale.toFixed(new BigDecimal("150.01")));
+  }
+}
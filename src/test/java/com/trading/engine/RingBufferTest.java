@@ -0,0 +1,67 @@
+package com.trading.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+  @Test
+  void offer_ShouldRejectWhenFull() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(2);
+
+    assertTrue(buffer.offer(1));
+    assertTrue(buffer.offer(2));
+    assertFalse(buffer.offer(3));
+    assertEquals(2, buffer.size());
+
+    assertEquals(1, buffer.poll());
+    assertTrue(buffer.offer(3));
+    assertEquals(2, buffer.poll());
+    assertEquals(3, buffer.poll());
+    assertNull(buffer.poll());
+    assertTrue(buffer.isEmpty());
+    assertEquals(0, buffer.size());
+  }
+
+  @Test
+  void poll_ShouldPreservePerProducerOrderUnderContention() throws InterruptedException {
+    int producers = 4;
+    int perProducer = 50_000;
+    RingBuffer<long[]> buffer = new RingBuffer<>(1024);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int i = 0; i < perProducer; i++) {
+                  while (!buffer.offer(new long[] {producer, i})) {
+                    Thread.onSpinWait();
+                  }
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+
+    long[] next = new long[producers];
+    int received = 0;
+    while (received < producers * perProducer) {
+      long[] element = buffer.poll();
+      if (element == null) {
+        Thread.onSpinWait();
+        continue;
+      }
+      assertEquals(next[(int) element[0]]++, element[1]);
+      received++;
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(buffer.poll());
+  }
+}
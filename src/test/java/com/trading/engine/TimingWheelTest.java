@@ -0,0 +1,88 @@
+package com.trading.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+  private static final long START = 1_000_000;
+
+  private final TimingWheel<Long> wheel = new TimingWheel<>(10, START);
+
+  @Test
+  void advance_ShouldReleaseDeadlinesOnTimeAtEveryLevel() {
+    List<Long> deadlines = new ArrayList<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 2_000; i++) {
+      // Spread over every level of the wheel and beyond its range
+      long deadline = START + (long) Math.pow(10, 1 + random.nextDouble() * 7.5);
+      deadlines.add(deadline);
+      wheel.schedule(deadline, deadline);
+    }
+
+    long now = START;
+    int released = 0;
+    for (long step = 10; released < deadlines.size(); step = Math.min(step * 2, 10_000_000)) {
+      long previous = now;
+      long at = now + step;
+      released +=
+          wheel.advance(
+              at,
+              deadline -> {
+                assertTrue(deadline <= at, () -> deadline + " released early at " + at);
+                assertTrue(deadline > previous - 10, () -> deadline + " released late at " + at);
+              });
+      now = at;
+    }
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void cancel_ShouldRemoveDeadlineWithoutReleasingIt() {
+    TimingWheel.Timeout<Long> cancelled = wheel.schedule(1L, START + 500);
+    TimingWheel.Timeout<Long> kept = wheel.schedule(2L, START + 500);
+
+    cancelled.cancel();
+    cancelled.cancel();
+
+    List<Long> released = new ArrayList<>();
+    assertEquals(1, wheel.advance(START + 1_000, released::add));
+    assertEquals(List.of(2L), released);
+    assertFalse(cancelled.isPending());
+    assertFalse(kept.isPending());
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void advance_ShouldReleasePassedDeadlinesOnTheNextTick() {
+    wheel.schedule(1L, START - 5_000);
+
+    List<Long> released = new ArrayList<>();
+    wheel.advance(START, released::add);
+
+    assertEquals(List.of(1L), released);
+  }
+
+  @Test
+  void advance_ShouldLetTheCallbackCancelDeadlinesOfTheSameTick() {
+    List<TimingWheel.Timeout<Long>> timeouts = new ArrayList<>();
+    for (long i = 0; i < 3; i++) {
+      timeouts.add(wheel.schedule(i, START + 100));
+    }
+
+    List<Long> released = new ArrayList<>();
+    wheel.advance(
+        START + 100,
+        value -> {
+          released.add(value);
+          timeouts.forEach(TimingWheel.Timeout::cancel);
+        });
+
+    assertEquals(1, released.size());
+    assertEquals(0, wheel.size());
+  }
+}
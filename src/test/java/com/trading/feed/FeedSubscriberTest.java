@@ -0,0 +1,96 @@
+package com.trading.feed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.trading.dto.FeedMessage;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.entity.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class FeedSubscriberTest {
+
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  private final List<FeedMessage> sent = new ArrayList<>();
+  private final FeedSink sink =
+      new FeedSink() {
+        @Override
+        public void send(FeedMessage message) {
+          sent.add(message);
+        }
+
+        @Override
+        public void fail(Exception cause) {
+          throw new AssertionError(cause);
+        }
+      };
+
+  @Test
+  void offer_ShouldConflateOrderUpdatesToTheLatestState() {
+    FeedSubscriber subscriber = new FeedSubscriber(null, null, 16, sink, tasks::add);
+    UUID orderId = UUID.randomUUID();
+
+    subscriber.offer(update(orderId, OrderStatus.PARTIALLY_FILLED));
+    subscriber.offer(update(orderId, OrderStatus.FILLED));
+    runTasks();
+
+    assertEquals(1, sent.size());
+    assertEquals(OrderStatus.FILLED, ((FeedMessage.OrderUpdate) sent.get(0)).status());
+  }
+
+  @Test
+  void offer_ShouldDropOldestEventsAndReportTheGapWhenFull() {
+    FeedSubscriber subscriber = new FeedSubscriber(null, null, 2, sink, tasks::add);
+    TradeExecuted first = trade("AAPL", "BUYER", "SELLER");
+    TradeExecuted second = trade("AAPL", "BUYER", "SELLER");
+    TradeExecuted third = trade("AAPL", "BUYER", "SELLER");
+
+    subscriber.offer(first);
+    subscriber.offer(second);
+    subscriber.offer(third);
+    runTasks();
+
+    assertEquals(
+        List.of(new FeedMessage.Gap(1), FeedMessage.of(second), FeedMessage.of(third)), sent);
+  }
+
+  @Test
+  void matches_ShouldFilterByTraderAndSymbol() {
+    FeedSubscriber subscriber = new FeedSubscriber("SELLER", "AAPL", 16, sink, tasks::add);
+
+    assertTrue(subscriber.matches(trade("AAPL", "BUYER", "SELLER")));
+    assertFalse(subscriber.matches(trade("MSFT", "BUYER", "SELLER")));
+    assertFalse(subscriber.matches(trade("AAPL", "BUYER", "OTHER")));
+  }
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+  }
+
+  private static OrderUpdated update(UUID orderId, OrderStatus status) {
+    return new OrderUpdated(orderId, "TRADER1", "AAPL", 0, status, null, 1);
+  }
+
+  private static TradeExecuted trade(String symbol, String buyer, String seller) {
+    return new TradeExecuted(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        symbol,
+        UUID.randomUUID(),
+        buyer,
+        UUID.randomUUID(),
+        seller,
+        new BigDecimal("150.00"),
+        10,
+        Instant.now());
+  }
+}
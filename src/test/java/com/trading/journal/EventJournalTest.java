@@ -0,0 +1,132 @@
+package com.trading.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.trading.engine.EngineEvent;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EventJournalTest {
+
+  private static final int SEGMENT_SIZE = 2 * EventJournal.MAX_RECORD_SIZE;
+
+  @TempDir Path directory;
+
+  @Test
+  void replay_ShouldReturnEventsInAppendOrderAcrossSegments() throws Exception {
+    List<Path> rolledOver = new ArrayList<>();
+    List<EngineEvent> appended = new ArrayList<>();
+    try (EventJournal journal = open(rolledOver::add)) {
+      journal.start();
+      for (int i = 0; i < 10_000; i++) {
+        EngineEvent event = i % 3 == 0 ? accepted(i) : i % 3 == 1 ? updated() : trade();
+        journal.append(event);
+        appended.add(event);
+      }
+      journal.sync().get();
+    }
+
+    assertFalse(rolledOver.isEmpty(), "Events should span several segments");
+    assertEquals(appended, replay());
+  }
+
+  @Test
+  void replay_ShouldStopAtTornRecord() throws Exception {
+    try (EventJournal journal = open(segment -> {})) {
+      journal.start();
+      journal.append(accepted(1));
+      journal.append(updated());
+    }
+    // Flip a byte inside the body of the first record
+    Path segment = open(rolledOver -> {}).segments().get(0);
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(20);
+      int original = file.read();
+      file.seek(20);
+      file.write(original ^ 0xFF);
+    }
+
+    assertEquals(List.of(), replay());
+  }
+
+  @Test
+  void start_ShouldContinueAfterExistingSegments() throws Exception {
+    try (EventJournal journal = open(segment -> {})) {
+      journal.start();
+      journal.append(updated());
+    }
+    try (EventJournal journal = open(segment -> {})) {
+      journal.start();
+      journal.append(trade());
+      assertEquals(2, journal.segments().size());
+    }
+
+    assertEquals(2, replay().size());
+  }
+
+  private EventJournal open(Consumer<Path> rolloverListener) throws IOException {
+    return new EventJournal(directory, SEGMENT_SIZE, Duration.ofMillis(1), rolloverListener);
+  }
+
+  private List<EngineEvent> replay() throws IOException {
+    List<EngineEvent> replayed = new ArrayList<>();
+    open(segment -> {}).replay(replayed::add);
+    return replayed;
+  }
+
+  private static OrderAccepted accepted(int i) {
+    return new OrderAccepted(
+        UUID.randomUUID(),
+        "TRADER" + i,
+        UUID.randomUUID(),
+        "AAPL",
+        OrderDirection.BUY,
+        i % 2 == 0 ? OrderType.LIMIT : OrderType.STOP,
+        i % 2 == 0 ? new BigDecimal("150.25") : null,
+        i % 2 == 0 ? null : new BigDecimal("149.50"),
+        i % 3 == 0 ? TimeInForce.GOOD_TILL_DATE : TimeInForce.GOOD_TILL_CANCELLED,
+        i % 3 == 0 ? Instant.parse("2025-02-01T21:00:00Z") : null,
+        100,
+        100,
+        i % 2 == 0 ? OrderStatus.OPEN : OrderStatus.AWAITING_TRIGGER,
+        Instant.now(),
+        i % 4 == 0 ? UUID.randomUUID() : null,
+        0);
+  }
+
+  private static OrderUpdated updated() {
+    return new OrderUpdated(
+        UUID.randomUUID(), "TRADER1", "MSFT", 40, OrderStatus.PARTIALLY_FILLED, null, 3);
+  }
+
+  private static TradeExecuted trade() {
+    return new TradeExecuted(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        "AAPL",
+        UUID.randomUUID(),
+        "TRADER1",
+        UUID.randomUUID(),
+        "TRADER2",
+        new BigDecimal("149.99"),
+        60,
+        Instant.now());
+  }
+}
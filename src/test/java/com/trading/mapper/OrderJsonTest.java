@@ -0,0 +1,156 @@
+package com.trading.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.trading.dto.OrderRequest;
+import com.trading.dto.OrderResponse;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class OrderJsonTest {
+
+  private final ObjectMapper reflective = mapper(false);
+  private final ObjectMapper handWritten = mapper(true);
+
+  @Test
+  void serialize_ShouldWriteTheSameJsonAsJackson() throws Exception {
+    OrderResponse limit =
+        new OrderResponse(
+            UUID.randomUUID(),
+            "TRADER1",
+            "AAPL",
+            OrderDirection.BUY,
+            OrderType.LIMIT,
+            40,
+            new BigDecimal("150.00"),
+            OrderStatus.PARTIALLY_FILLED,
+            Instant.parse("2025-02-01T10:15:30.123456Z"),
+            null,
+            TimeInForce.GOOD_TILL_DATE,
+            Instant.parse("2025-02-01T21:00:00Z"));
+    OrderResponse market =
+        new OrderResponse(
+            UUID.randomUUID(),
+            "TRADER2",
+            "MSFT",
+            OrderDirection.SELL,
+            OrderType.MARKET,
+            100,
+            null,
+            OrderStatus.FILLED,
+            Instant.now(),
+            null,
+            TimeInForce.GOOD_TILL_CANCELLED,
+            null);
+    OrderResponse stopLimit =
+        new OrderResponse(
+            UUID.randomUUID(),
+            "TRADER3",
+            "AAPL",
+            OrderDirection.SELL,
+            OrderType.STOP_LIMIT,
+            10,
+            new BigDecimal("148.00"),
+            OrderStatus.AWAITING_TRIGGER,
+            Instant.now(),
+            new BigDecimal("149.50"),
+            TimeInForce.DAY,
+            Instant.parse("2025-02-02T00:00:00Z"));
+
+    assertEquals(reflective.writeValueAsString(limit), handWritten.writeValueAsString(limit));
+    assertEquals(reflective.writeValueAsString(market), handWritten.writeValueAsString(market));
+    assertEquals(
+        reflective.writeValueAsString(stopLimit), handWritten.writeValueAsString(stopLimit));
+  }
+
+  @Test
+  void deserialize_ShouldReadWhatJacksonReads() throws Exception {
+    String json =
+        """
+        {"traderId":"TRADER1","instrumentSymbol":"AAPL","direction":"SELL","type":"LIMIT",
+         "quantity":100,"price":150.05,"unknown":{"ignored":[1,2]}}""";
+
+    OrderRequest request = handWritten.readValue(json, OrderRequest.class);
+
+    assertEquals(reflective.readValue(json, OrderRequest.class), request);
+    assertEquals(new BigDecimal("150.05"), request.price());
+  }
+
+  @Test
+  void deserialize_ShouldReadTheStopPrice() throws Exception {
+    String json =
+        """
+        {"traderId":"TRADER1","instrumentSymbol":"AAPL","direction":"SELL","type":"STOP",
+         "quantity":100,"stopPrice":149.5}""";
+
+    OrderRequest request = handWritten.readValue(json, OrderRequest.class);
+
+    assertEquals(reflective.readValue(json, OrderRequest.class), request);
+    assertEquals(new BigDecimal("149.5"), request.stopPrice());
+  }
+
+  @Test
+  void deserialize_ShouldReadTheTimeInForce() throws Exception {
+    String json =
+        """
+        {"traderId":"TRADER1","instrumentSymbol":"AAPL","direction":"BUY","type":"LIMIT",
+         "quantity":100,"price":150.00,"timeInForce":"GOOD_TILL_DATE",
+         "expiresAt":"2025-02-01T21:00:00Z"}""";
+
+    OrderRequest request = handWritten.readValue(json, OrderRequest.class);
+
+    assertEquals(reflective.readValue(json, OrderRequest.class), request);
+    assertEquals(Instant.parse("2025-02-01T21:00:00Z"), request.expiresAt());
+  }
+
+  @Test
+  void deserialize_ShouldLeaveMissingFieldsToValidation() throws Exception {
+    OrderRequest request = handWritten.readValue("{\"type\":\"MARKET\"}", OrderRequest.class);
+
+    assertEquals(new OrderRequest(null, null, null, OrderType.MARKET, null, null), request);
+  }
+
+  @Test
+  void deserialize_ShouldRejectUnknownEnumConstantsAndInconsistentPrices() {
+    assertThrows(
+        InvalidFormatException.class,
+        () -> handWritten.readValue("{\"direction\":\"HOLD\"}", OrderRequest.class));
+    assertThrows(
+        JsonMappingException.class,
+        () ->
+            handWritten.readValue("{\"type\":\"LIMIT\",\"quantity\":1}", OrderRequest.class));
+    assertThrows(
+        JsonMappingException.class,
+        () -> handWritten.readValue("{\"type\":\"STOP\",\"quantity\":1}", OrderRequest.class));
+  }
+
+  /** Configured like Spring Boot's mapper, optionally with the serializers of {@link OrderJson}. */
+  private static ObjectMapper mapper(boolean withOrderJson) {
+    JsonMapper.Builder builder =
+        JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    if (withOrderJson) {
+      builder.addModule(
+          new SimpleModule()
+              .addSerializer(OrderResponse.class, new OrderJson.ResponseSerializer())
+              .addDeserializer(OrderRequest.class, new OrderJson.RequestDeserializer()));
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,50 @@
+package com.trading.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitingDataSourceTest {
+
+  private final DataSource target = mock(DataSource.class);
+  private final Connection connection = mock(Connection.class);
+  private final ConcurrencyLimitingDataSource dataSource =
+      new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(10));
+
+  @BeforeEach
+  void openConnections() throws SQLException {
+    when(target.getConnection()).thenReturn(connection);
+  }
+
+  @Test
+  void getConnection_ShouldFailOnceEveryPermitIsHeld() throws SQLException {
+    dataSource.getConnection();
+
+    assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+  }
+
+  @Test
+  void close_ShouldReturnThePermitOnlyOnce() throws SQLException {
+    Connection limited = dataSource.getConnection();
+    limited.close();
+    limited.close();
+
+    assertEquals(1, dataSource.availablePermits());
+    verify(connection, times(2)).close();
+  }
+
+  @Test
+  void getConnection_ShouldReturnThePermitWhenThePoolFails() throws SQLException {
+    when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+    assertThrows(SQLException.class, dataSource::getConnection);
+    assertEquals(1, dataSource.availablePermits());
+  }
+}
@@ -0,0 +1,99 @@
+package com.trading.replay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.trading.dto.OrderRequest;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import com.trading.replay.FlowCodec.Recording;
+import com.trading.replay.FlowRecord.Cancelled;
+import com.trading.replay.FlowRecord.Placed;
+import com.trading.replay.FlowRecord.Traded;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FlowCodecTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void read_ShouldReturnRecordsInWrittenOrder() throws Exception {
+    Instant startedAt = Instant.parse("2025-03-01T09:30:00.123456789Z");
+    UUID buy = UUID.randomUUID();
+    UUID sell = UUID.randomUUID();
+    List<FlowRecord> records =
+        List.of(
+            new Placed(
+                10,
+                buy,
+                new OrderRequest(
+                    "TRADER1",
+                    "AAPL",
+                    OrderDirection.BUY,
+                    OrderType.LIMIT,
+                    100,
+                    new BigDecimal("150.25"),
+                    null,
+                    TimeInForce.GOOD_TILL_DATE,
+                    startedAt.plusSeconds(60))),
+            new Placed(
+                20,
+                sell,
+                new OrderRequest(
+                    "TRADER2",
+                    "AAPL",
+                    OrderDirection.SELL,
+                    OrderType.STOP,
+                    40,
+                    null,
+                    new BigDecimal("149.5"),
+                    TimeInForce.DAY,
+                    null)),
+            new Traded(30, "AAPL", buy, sell, new BigDecimal("150.25"), 40),
+            new Cancelled(40, buy));
+
+    Path file = write(startedAt, records);
+
+    assertEquals(new Recording(startedAt, records), FlowCodec.read(file));
+  }
+
+  @Test
+  void read_ShouldStopBeforeATornRecord() throws Exception {
+    Instant startedAt = Instant.now();
+    Cancelled complete = new Cancelled(1, UUID.randomUUID());
+    Path file = write(startedAt, List.of(complete, new Cancelled(2, UUID.randomUUID())));
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.setLength(raf.length() - 3);
+    }
+
+    assertEquals(List.of(complete), FlowCodec.read(file).records());
+  }
+
+  @Test
+  void read_ShouldRejectFilesThatAreNotRecordings() throws Exception {
+    Path file = Files.write(directory.resolve("other.rec"), new byte[] {1, 2, 3, 4, 5});
+
+    assertThrows(IOException.class, () -> FlowCodec.read(file));
+  }
+
+  private Path write(Instant startedAt, List<FlowRecord> records) throws IOException {
+    Path file = directory.resolve("flow.rec");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+      FlowCodec.writeHeader(out, startedAt);
+      for (FlowRecord record : records) {
+        FlowCodec.write(out, record);
+      }
+    }
+    return file;
+  }
+}
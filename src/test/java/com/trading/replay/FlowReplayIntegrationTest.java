@@ -0,0 +1,176 @@
+package com.trading.replay;
+
+import static com.trading.entity.OrderDirection.BUY;
+import static com.trading.entity.OrderDirection.SELL;
+import static com.trading.entity.OrderType.IMMEDIATE_OR_CANCEL;
+import static com.trading.entity.OrderType.LIMIT;
+import static com.trading.entity.OrderType.MARKET;
+import static com.trading.entity.OrderType.STOP;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.RefreshMode.BEFORE_EACH_TEST_METHOD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.trading.dto.OrderRequest;
+import com.trading.dto.OrderResponse;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderType;
+import com.trading.entity.TimeInForce;
+import com.trading.service.InstrumentCache;
+import com.trading.service.OrderBookService;
+import com.trading.service.OrderService;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY, refresh = BEFORE_EACH_TEST_METHOD)
+class FlowReplayIntegrationTest {
+
+  @Autowired private OrderService orderService;
+
+  @Autowired private OrderBookService orderBookService;
+
+  @Autowired private InstrumentCache instrumentCache;
+
+  @Autowired private FlowRecorder recorder;
+
+  @Autowired private FlowReplayer replayer;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @TempDir private Path directory;
+
+  @BeforeEach
+  void rebuildOrderBooks() {
+    // The embedded database is refreshed before each test while the context is reused
+    resetEngine();
+  }
+
+  @Test
+  @SneakyThrows
+  void replay_ShouldReproduceTheRecordedTrades() {
+    Path flow = directory.resolve("flow.rec");
+    recorder.start(flow);
+    place("TRADER1", "AAPL", BUY, LIMIT, 100, "150.00");
+    place("TRADER2", "AAPL", BUY, LIMIT, 50, "150.00");
+    OrderResponse cancelled = place("TRADER3", "AAPL", BUY, LIMIT, 70, "149.50");
+    orderService.placeOrder(
+        new OrderRequest(
+            "TRADER3",
+            "AAPL",
+            SELL,
+            LIMIT,
+            20,
+            new BigDecimal("152.00"),
+            null,
+            TimeInForce.GOOD_TILL_DATE,
+            Instant.now().plusSeconds(3600)));
+    orderService.placeOrder(
+        new OrderRequest("TRADER4", "AAPL", SELL, STOP, 30, null, new BigDecimal("149.00")));
+    orderService.cancelOrder(cancelled.orderId());
+    place("TRADER5", "AAPL", SELL, LIMIT, 120, "150.00");
+    place("TRADER6", "AAPL", SELL, MARKET, 40, null);
+    place("TRADER1", "MSFT", SELL, LIMIT, 10, "300.00");
+    place("TRADER2", "MSFT", BUY, IMMEDIATE_OR_CANCEL, 25, "300.00");
+    orderService.cancelOrders("TRADER3", null);
+    recorder.stop();
+
+    jdbcTemplate.execute(
+        "truncate table trades, orders, order_history, composite_order, instruments cascade");
+    resetEngine();
+
+    ReplayReport report = replayer.replay(flow, 0);
+
+    assertTrue(report.tradesMatch(), report::summary);
+    assertEquals(9, report.placed());
+    assertEquals(2, report.cancelled());
+    assertEquals(0, report.failed());
+    assertEquals(4, report.trades());
+    assertEquals(11, report.latencies().getTotalCount());
+    assertFalse(recorder.isRecording());
+  }
+
+  @Test
+  @SneakyThrows
+  void replay_ShouldReportTradesThatDifferFromTheRecording() {
+    Path flow = directory.resolve("flow.rec");
+    recorder.start(flow);
+    place("TRADER1", "AAPL", BUY, LIMIT, 100, "150.00");
+    place("TRADER2", "AAPL", SELL, LIMIT, 100, "150.00");
+    recorder.stop();
+
+    // The resting bid left by the recording takes the sell order of the replay
+    place("TRADER3", "AAPL", BUY, LIMIT, 100, "150.00");
+    ReplayReport report = replayer.replay(flow, 0);
+
+    assertFalse(report.tradesMatch());
+    assertTrue(report.tradeMismatch().startsWith("AAPL trade 1"), report.tradeMismatch());
+  }
+
+  @Test
+  @SneakyThrows
+  void replay_ShouldBeRejectedWhileRecording() {
+    Path flow = directory.resolve("flow.rec");
+    recorder.start(flow);
+    place("TRADER1", "AAPL", BUY, LIMIT, 100, "150.00");
+    try {
+      IllegalStateException rejected =
+          assertThrows(IllegalStateException.class, () -> replayer.replay(flow, 0));
+      assertTrue(rejected.getMessage().contains("stop the recording"), rejected.getMessage());
+      assertTrue(recorder.isRecording());
+    } finally {
+      recorder.stop();
+    }
+  }
+
+  /**
+   * Replays a flow recorded elsewhere against the embedded database, for instance {@code ./gradlew
+   * test --tests '*FlowReplayIntegrationTest' -Preplay.file=flow.rec -Preplay.speed=10}.
+   */
+  @Test
+  @SneakyThrows
+  @EnabledIfSystemProperty(named = "replay.file", matches = ".+")
+  void replayRecordedFlow() {
+    ReplayReport report =
+        replayer.replay(
+            Path.of(System.getProperty("replay.file")),
+            Double.parseDouble(System.getProperty("replay.speed", "1")));
+
+    System.out.println(report.summary());
+    assertTrue(report.tradesMatch(), report::summary);
+  }
+
+  private void resetEngine() {
+    instrumentCache.invalidateAll();
+    orderBookService.rebuild();
+  }
+
+  private OrderResponse place(
+      String traderId,
+      String symbol,
+      OrderDirection direction,
+      OrderType type,
+      int quantity,
+      String price) {
+    return orderService.placeOrder(
+        new OrderRequest(
+            traderId,
+            symbol,
+            direction,
+            type,
+            quantity,
+            price == null ? null : new BigDecimal(price)));
+  }
+}
@@ -0,0 +1,183 @@
+package com.trading.risk;
+
+import static com.trading.entity.OrderDirection.BUY;
+import static com.trading.entity.OrderDirection.SELL;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.trading.config.RiskProperties;
+import com.trading.engine.EngineEvent.OrderAccepted;
+import com.trading.engine.EngineEvent.OrderUpdated;
+import com.trading.engine.EngineEvent.TradeExecuted;
+import com.trading.entity.InstrumentEntity;
+import com.trading.entity.OrderDirection;
+import com.trading.entity.OrderEntity;
+import com.trading.entity.OrderStatus;
+import com.trading.entity.OrderType;
+import com.trading.exception.RiskLimitException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PreTradeCheckTest {
+
+  private final InstrumentEntity instrument =
+      InstrumentEntity.builder()
+          .id(UUID.randomUUID())
+          .symbol("AAPL")
+          .marketPrice(new BigDecimal("100.00"))
+          .build();
+
+  private final ExposureTracker exposures = new ExposureTracker();
+
+  @Test
+  void exposure_ShouldFollowAcceptedTerminalAndTradedOrders() {
+    OrderEntity bid = order("TRADER1", BUY, "100.00", 100);
+    OrderEntity ask = order("TRADER2", SELL, "100.00", 30);
+    OrderEntity other = order("TRADER1", SELL, "105.00", 10);
+    exposures.onEvent(OrderAccepted.of(bid));
+    exposures.onEvent(OrderAccepted.of(other));
+    exposures.onEvent(OrderAccepted.of(ask));
+    exposures.onEvent(trade(bid, ask, 30));
+    ask.setStatus(OrderStatus.FILLED);
+    exposures.onEvent(OrderUpdated.of(ask));
+    bid.setRemainingQuantity(70);
+    bid.setStatus(OrderStatus.PARTIALLY_FILLED);
+    exposures.onEvent(OrderUpdated.of(bid));
+
+    TraderExposure none = TraderExposure.NONE;
+    assertEquals(new TraderExposure(2, 30, 70, 10), exposures.exposure("TRADER1", "AAPL", none));
+    assertEquals(new TraderExposure(0, -30, 0, 0), exposures.exposure("TRADER2", "AAPL", none));
+    assertEquals(
+        new TraderExposure(1, 0, 0, 0),
+        exposures.exposure("TRADER1", "MSFT", new TraderExposure(-1, 0, 0, 0)));
+    assertEquals(none, exposures.exposure("TRADER3", "AAPL", none));
+
+    other.setStatus(OrderStatus.CANCELLED);
+    exposures.onEvent(OrderUpdated.of(other));
+    assertEquals(new TraderExposure(1, 30, 70, 0), exposures.exposure("TRADER1", "AAPL", none));
+
+    exposures.clear();
+    exposures.restoreOrder(order("TRADER1", BUY, "99.00", 20));
+    exposures.restorePosition("TRADER1", "AAPL", 70);
+    assertEquals(new TraderExposure(1, 70, 20, 0), exposures.exposure("TRADER1", "AAPL", none));
+  }
+
+  @Test
+  void orderQuantityAndNotionalChecks_ShouldRejectOrdersAboveTheirLimit() {
+    RiskProperties properties = limits(100, "10000", 0, "0", 0);
+    PreTradeCheck quantity = new OrderQuantityCheck(properties);
+    PreTradeCheck notional = new NotionalCheck(properties);
+    TraderExposure none = TraderExposure.NONE;
+
+    quantity.check(order("TRADER1", BUY, "100.00", 100), none);
+    assertThrows(
+        RiskLimitException.class, () -> quantity.check(order("TRADER1", BUY, "1.00", 101), none));
+
+    notional.check(order("TRADER1", BUY, "100.00", 100), none);
+    assertThrows(
+        RiskLimitException.class, () -> notional.check(order("TRADER1", BUY, "100.01", 100), none));
+    // Valued at the market price
+    assertThrows(
+        RiskLimitException.class, () -> notional.check(order("TRADER1", SELL, null, 101), none));
+  }
+
+  @Test
+  void openOrdersCheck_ShouldRejectOrdersBeyondTheLimitOfTheTrader() {
+    PreTradeCheck openOrders = new OpenOrdersCheck(limits(0, "0", 2, "0", 0));
+    OrderEntity order = order("TRADER1", BUY, "100.00", 10);
+
+    openOrders.check(order, new TraderExposure(1, 0, 0, 0));
+    assertThrows(
+        RiskLimitException.class, () -> openOrders.check(order, new TraderExposure(2, 0, 0, 0)));
+  }
+
+  @Test
+  void priceBandCheck_ShouldRejectPricesFarFromTheMarketPrice() {
+    PreTradeCheck band = new PriceBandCheck(limits(0, "0", 0, "0.1", 0));
+    TraderExposure none = TraderExposure.NONE;
+
+    band.check(order("TRADER1", BUY, "90.00", 10), none);
+    band.check(order("TRADER1", SELL, "110.00", 10), none);
+    assertThrows(
+        RiskLimitException.class, () -> band.check(order("TRADER1", BUY, "89.99", 10), none));
+    OrderEntity stop = order("TRADER1", SELL, null, 10);
+    stop.setType(OrderType.STOP);
+    stop.setStopPrice(new BigDecimal("111.00"));
+    assertThrows(RiskLimitException.class, () -> band.check(stop, none));
+
+    instrument.setMarketPrice(null);
+    band.check(order("TRADER1", BUY, "1.00", 10), none);
+  }
+
+  @Test
+  void positionLimitCheck_ShouldRejectOrdersGrowingThePositionBeyondTheLimit() {
+    PreTradeCheck position = new PositionLimitCheck(limits(0, "0", 0, "0", 100));
+
+    position.check(order("TRADER1", BUY, "100.00", 60), new TraderExposure(0, 40, 0, 0));
+    assertThrows(
+        RiskLimitException.class,
+        () -> position.check(order("TRADER1", BUY, "100.00", 61), new TraderExposure(0, 40, 0, 0)));
+    assertThrows(
+        RiskLimitException.class,
+        () ->
+            position.check(order("TRADER1", SELL, "100.00", 200), new TraderExposure(0, 50, 0, 0)));
+    // Reduces a position that is already beyond the limit
+    position.check(order("TRADER1", SELL, "100.00", 30), new TraderExposure(0, 150, 0, 0));
+  }
+
+  @Test
+  void positionLimitCheck_ShouldCountOpenOrdersOfTheSameSideAsFilled() {
+    PreTradeCheck position = new PositionLimitCheck(limits(0, "0", 0, "0", 100));
+    TraderExposure exposure = new TraderExposure(2, 40, 40, 50);
+
+    position.check(order("TRADER1", BUY, "100.00", 20), exposure);
+    assertThrows(
+        RiskLimitException.class,
+        () -> position.check(order("TRADER1", BUY, "100.00", 21), exposure));
+    // Open buy orders do not offset a short sale
+    position.check(order("TRADER1", SELL, "100.00", 90), exposure);
+    assertThrows(
+        RiskLimitException.class,
+        () -> position.check(order("TRADER1", SELL, "100.00", 91), exposure));
+  }
+
+  private static RiskProperties limits(
+      int maxOrderQuantity, String maxNotional, int maxOpenOrders, String band, long maxPosition) {
+    return new RiskProperties(
+        maxOrderQuantity,
+        new BigDecimal(maxNotional),
+        maxOpenOrders,
+        new BigDecimal(band),
+        maxPosition);
+  }
+
+  private OrderEntity order(String traderId, OrderDirection direction, String price, int quantity) {
+    return OrderEntity.builder()
+        .id(UUID.randomUUID())
+        .traderId(traderId)
+        .instrument(instrument)
+        .direction(direction)
+        .type(price == null ? OrderType.MARKET : OrderType.LIMIT)
+        .price(price == null ? null : new BigDecimal(price))
+        .quantity(quantity)
+        .remainingQuantity(quantity)
+        .status(OrderStatus.OPEN)
+        .createdAt(Instant.now())
+        .build();
+  }
+
+  private static TradeExecuted trade(OrderEntity buy, OrderEntity sell, int quantity) {
+    return new TradeExecuted(
+        UUID.randomUUID(),
+        buy.getInstrument().getId(),
+        buy.getInstrument().getSymbol(),
+        buy.getId(),
+        buy.getTraderId(),
+        sell.getId(),
+        sell.getTraderId(),
+        buy.getPrice(),
+        quantity,
+        Instant.now());
+  }
+}
@@ -0,0 +1,63 @@
+package com.trading.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.trading.entity.InstrumentEntity;
+import com.trading.repository.InstrumentRepository;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentCacheTest {
+
+  @Mock private InstrumentRepository instrumentRepository;
+
+  @InjectMocks private InstrumentCache instrumentCache;
+
+  @Test
+  void getOrCreate_ShouldHitTheRepositoryOnlyOnce() {
+    InstrumentEntity instrument = instrument("AAPL");
+    when(instrumentRepository.findBySymbol("AAPL")).thenReturn(Optional.of(instrument));
+
+    assertSame(instrument, instrumentCache.getOrCreate("AAPL"));
+    assertSame(instrument, instrumentCache.getOrCreate("AAPL"));
+
+    verify(instrumentRepository, times(1)).findBySymbol("AAPL");
+  }
+
+  @Test
+  void getOrCreate_ShouldReadTheWinningRowWhenCreationRaces() {
+    InstrumentEntity winner = instrument("AAPL");
+    when(instrumentRepository.findBySymbol("AAPL"))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(winner));
+    when(instrumentRepository.saveAndFlush(any()))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+    assertSame(winner, instrumentCache.getOrCreate("AAPL"));
+  }
+
+  @Test
+  void invalidate_ShouldReloadOnNextLookup() {
+    InstrumentEntity instrument = instrument("AAPL");
+    when(instrumentRepository.findBySymbol("AAPL")).thenReturn(Optional.of(instrument));
+
+    instrumentCache.getOrCreate("AAPL");
+    instrumentCache.invalidate("AAPL");
+    instrumentCache.getOrCreate("AAPL");
+
+    verify(instrumentRepository, times(2)).findBySymbol("AAPL");
+  }
+
+  private static InstrumentEntity instrument(String symbol) {
+    return InstrumentEntity.builder().id(UUID.randomUUID()).symbol(symbol).build();
+  }
+}
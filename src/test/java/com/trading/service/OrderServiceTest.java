@@ -4,13 +4,20 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.trading.cluster.InstrumentOwnership;
+import com.trading.cluster.OrderForwarder;
+import com.trading.config.ClusterProperties.Member;
+import com.trading.dto.CancelResult;
 import com.trading.dto.OrderRequest;
 import com.trading.dto.OrderResponse;
 import com.trading.entity.*;
 import com.trading.exception.OrderNotFoundException;
+import com.trading.mapper.OrderMapper;
 import com.trading.repository.OrderRepository;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -18,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
@@ -26,6 +34,10 @@ class OrderServiceTest {
 
   @Mock private OrderBookService orderBookService;
 
+  @Mock private InstrumentOwnership ownership;
+
+  @Mock private OrderForwarder forwarder;
+
   @InjectMocks private OrderService orderService;
 
   @Test
@@ -39,6 +51,7 @@ class OrderServiceTest {
             100,
             new BigDecimal("150.0"));
     OrderEntity savedEntity = getOrderEntity();
+    when(ownership.isLocal("AAPL")).thenReturn(true);
     when(orderBookService.processOrder(any())).thenReturn(savedEntity);
 
     OrderResponse response = orderService.placeOrder(request);
@@ -46,6 +59,19 @@ class OrderServiceTest {
     assertNotNull(response.orderId());
   }
 
+  @Test
+  void placeOrder_ShouldForwardOrdersOfInstrumentsOwnedByAnotherNode() {
+    OrderRequest request =
+        new OrderRequest(
+            "TRADER1", "AAPL", OrderDirection.BUY, OrderType.LIMIT, 100, new BigDecimal("150.0"));
+    OrderResponse forwarded = OrderMapper.toResponse(getOrderEntity());
+    when(ownership.isLocal("AAPL")).thenReturn(false);
+    when(forwarder.placeOrder(request)).thenReturn(forwarded);
+
+    assertSame(forwarded, orderService.placeOrder(request));
+    verifyNoInteractions(orderBookService);
+  }
+
   @Test
   void getOrder_ShouldReturnOrderWhenExists() {
     UUID orderId = UUID.randomUUID();
@@ -55,7 +81,31 @@ class OrderServiceTest {
 
     OrderResponse response = orderService.getOrder(orderId);
 
-    assertEquals(orderId.toString(), response.orderId());
+    assertEquals(orderId, response.orderId());
+  }
+
+  @Test
+  void cancelOrders_ShouldReportTheOutcomeOfEveryNode() {
+    Member local = new Member("node-1", URI.create("http://node-1"));
+    Member reachable = new Member("node-2", URI.create("http://node-2"));
+    Member unreachable = new Member("node-3", URI.create("http://node-3"));
+    OrderEntity cancelled = getOrderEntity();
+    cancelled.setStatus(OrderStatus.CANCELLED);
+    CancelResult remote = CancelResult.cancelled("node-2", OrderMapper.toResponse(cancelled));
+    when(ownership.getNodeId()).thenReturn("node-1");
+    when(ownership.getMembers()).thenReturn(List.of(local, reachable, unreachable));
+    when(orderBookService.cancelOrders("TRADER1", null)).thenReturn(List.of(cancelled));
+    when(forwarder.cancelOrders(reachable, "TRADER1")).thenReturn(List.of(remote));
+    when(forwarder.cancelOrders(unreachable, "TRADER1"))
+        .thenThrow(new ResourceAccessException("Connection refused"));
+
+    List<CancelResult> results = orderService.cancelOrders("TRADER1", null);
+
+    assertEquals(3, results.size());
+    assertEquals("node-1", results.get(0).nodeId());
+    assertEquals(cancelled.getId(), results.get(0).order().orderId());
+    assertSame(remote, results.get(1));
+    assertEquals(CancelResult.failed("node-3", 503, "Connection refused"), results.get(2));
   }
 
   @Test